@@ -0,0 +1,176 @@
+package fr.uge.cascadia;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.animal.CardType;
+import fr.uge.cascadia.score.FaunaScoring;
+import fr.uge.cascadia.score.ScoringStrategy;
+import fr.uge.cascadia.score.VariantScoring;
+import fr.uge.cascadia.tile.TileType;
+
+/**
+ * The options of a game played without questions, read from the command line.
+ *
+ * <pre>
+ * --players N          number of players, from 1 to 4 (default : number of names, or 1)
+ * --names a,b,c        names of the players (default : Joueur 1, Joueur 2...)
+ * --tiles square       type of the tiles, only square tiles are played in the terminal
+ * --scoring VARIANT    famille, intermediaire or faune:ABCDA (one card per animal, in the order of {@link Animal})
+ * --seed N             seed of the draws, the same seed and script replay the same game (default : random)
+ * --script FILE        answers of the players, - for the standard input (default)
+ * --summary FILE       file receiving the summary line, - for the standard output (default)
+ * --quiet              does not print the boards and the messages of the game
+ * </pre>
+ *
+ * The standard output only receives the summary, so that it can be piped to another program :
+ * the boards and the messages of the game are printed on the standard error.
+ *
+ * @param names     the names of the players.
+ * @param tileType  the type of the tiles.
+ * @param scoring   the scoring variant, as written on the command line.
+ * @param seed      the seed of the draws.
+ * @param script    the script of the answers, null for the standard input.
+ * @param summary   the file of the summary, null for the standard output.
+ * @param quiet     true to hide the boards and the messages, printed on the standard error otherwise.
+ */
+public record BatchOptions(List<String> names, TileType tileType, String scoring, long seed, Path script, Path summary, boolean quiet) {
+
+	/**
+	 * Usage printed when the options are invalid.
+	 */
+	public static final String USAGE = """
+			Usage : cascadia [--players N] [--names a,b,c] [--tiles square] [--scoring famille|intermediaire|faune:ABCDA]
+			                 [--seed N] [--script FICHIER|-] [--summary FICHIER|-] [--quiet]""";
+
+	private static final String FAUNA_PREFIX = "faune:";
+
+	/**
+	 * Creates the options of a game.
+	 */
+	public BatchOptions {
+		names = List.copyOf(names);
+		Objects.requireNonNull(tileType);
+		Objects.requireNonNull(scoring);
+		if (names.isEmpty() || names.size() > 4) {
+			throw new IllegalArgumentException("Le nombre de joueurs doit être entre 1 et 4 : " + names.size());
+		}
+		if (tileType != TileType.Square) {
+			throw new IllegalArgumentException("Le mode hexagonal est uniquement disponible en mode graphique.");
+		}
+		scoringStrategyOf(scoring); // la variante est vérifiée avant la partie
+	}
+
+	/**
+	 * Reads the options of the command line.
+	 *
+	 * @param args the arguments of the program.
+	 * @return the options, with the default value of the missing ones.
+	 * @throws IllegalArgumentException if an option is unknown or invalid.
+	 */
+	public static BatchOptions parse(String[] args) {
+		Objects.requireNonNull(args);
+		int players = 0;
+		List<String> names = List.of();
+		TileType tileType = TileType.Square;
+		String scoring = "famille";
+		long seed = new Random().nextLong(); // écrite dans le résumé : la partie peut être rejouée
+		Path script = null;
+		Path summary = null;
+		boolean quiet = false;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "--players" -> players = parseInt("--players", valueOf(args, ++i));
+			case "--names" -> names = List.of(valueOf(args, ++i).split(","));
+			case "--tiles" -> tileType = parseTileType(valueOf(args, ++i));
+			case "--scoring" -> scoring = valueOf(args, ++i);
+			case "--seed" -> seed = parseLong("--seed", valueOf(args, ++i));
+			case "--script" -> script = pathOf(valueOf(args, ++i));
+			case "--summary" -> summary = pathOf(valueOf(args, ++i));
+			case "--quiet" -> quiet = true;
+			default -> throw new IllegalArgumentException("Option inconnue : " + args[i]);
+			}
+		}
+		return new BatchOptions(namesOf(players, names), tileType, scoring, seed, script, summary, quiet);
+	}
+
+	/**
+	 * Creates the scoring strategy of the options.
+	 *
+	 * @return a new scoring strategy.
+	 */
+	public ScoringStrategy scoringStrategy() {
+		return scoringStrategyOf(scoring);
+	}
+
+	private static ScoringStrategy scoringStrategyOf(String scoring) {
+		if (!scoring.startsWith(FAUNA_PREFIX)) {
+			return new VariantScoring(scoring);
+		}
+		String cards = scoring.substring(FAUNA_PREFIX.length()).toUpperCase();
+		Animal[] animals = Animal.values();
+		if (!cards.matches("[ABCD]{" + animals.length + "}")) {
+			throw new IllegalArgumentException("Il faut une carte A, B, C ou D par animal : " + scoring);
+		}
+		Map<Animal, CardType> animalCardMap = new EnumMap<>(Animal.class);
+		for (Animal animal : animals) {
+			animalCardMap.put(animal, CardType.valueOf(String.valueOf(cards.charAt(animal.ordinal()))));
+		}
+		return new FaunaScoring(animalCardMap);
+	}
+
+	private static List<String> namesOf(int players, List<String> names) {
+		if (names.isEmpty()) {
+			var defaultNames = new ArrayList<String>();
+			for (int n = 1; n <= Math.max(players, 1); n++) {
+				defaultNames.add("Joueur " + n);
+			}
+			return defaultNames;
+		}
+		if (players != 0 && players != names.size()) {
+			throw new IllegalArgumentException(players + " joueurs mais " + names.size() + " noms : " + names);
+		}
+		return names;
+	}
+
+	private static String valueOf(String[] args, int index) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Valeur manquante pour " + args[index - 1]);
+		}
+		return args[index];
+	}
+
+	private static TileType parseTileType(String value) {
+		return switch (value.toLowerCase()) {
+		case "square" -> TileType.Square;
+		case "hexagonal" -> TileType.Hexagonal;
+		default -> throw new IllegalArgumentException("Type de tuiles inconnu : " + value);
+		};
+	}
+
+	private static int parseInt(String option, String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Nombre invalide pour " + option + " : " + value);
+		}
+	}
+
+	private static long parseLong(String option, String value) {
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Nombre invalide pour " + option + " : " + value);
+		}
+	}
+
+	private static Path pathOf(String value) {
+		return value.equals("-") ? null : Path.of(value);
+	}
+}
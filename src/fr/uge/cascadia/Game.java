@@ -1,27 +1,46 @@
 package fr.uge.cascadia;
 
 import java.awt.Color;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import com.github.forax.zen.Application;
 
 import fr.uge.cascadia.animal.Animal;
 import fr.uge.cascadia.animal.AnimalToken;
+import fr.uge.cascadia.animal.TokenBag;
 import fr.uge.cascadia.animal.CardType;
 import fr.uge.cascadia.board.Shelf;
 import fr.uge.cascadia.controller.ControllerGraphic;
 import fr.uge.cascadia.controller.ControllerTerminal;
 import fr.uge.cascadia.controller.GameManager;
+import fr.uge.cascadia.controller.PlacementHints;
+import fr.uge.cascadia.controller.RenderLoop;
+import fr.uge.cascadia.controller.ScriptedInput;
+import fr.uge.cascadia.controller.TerminalRenderer;
 import fr.uge.cascadia.score.*;
+import fr.uge.cascadia.success.AchievementHistory;
+import fr.uge.cascadia.success.AchievementTracker;
 import fr.uge.cascadia.success.GameSuccess;
 import fr.uge.cascadia.success.ScenarioSuccess;
 import fr.uge.cascadia.tile.Tile;
 import fr.uge.cascadia.tile.TileType;
+import fr.uge.cascadia.view.FrameMetrics;
 import fr.uge.cascadia.view.GameView;
 import fr.uge.cascadia.view.HexagoView;
 import fr.uge.cascadia.view.ImageLoader;
@@ -44,7 +63,7 @@ public class Game {
 	/**
 	 * The shared shelf used during the game to hold available tiles and tokens.
 	 */
-	private final Shelf shelf = new Shelf();
+	private final Shelf shelf;
 
 	/**
 	 * The bag containing all the tiles used in the game.
@@ -54,7 +73,7 @@ public class Game {
 	/**
 	 * The bag containing all the animal tokens used in the game.
 	 */
-	private final List<AnimalToken> bagOfTokenAnimal = AnimalToken.createBagOfAnimalTokens();
+	private final TokenBag bagOfTokenAnimal = AnimalToken.createBagOfAnimalTokens();
 
 	/**
 	 * The type of tiles used in the game, which can be either square or hexagonal.
@@ -80,6 +99,27 @@ public class Game {
 
 		initializePlayers(numberOfPlayers);
 		bagOfTiles = Tile.createTileBag(tileType);
+		shelf = new Shelf();
+	}
+
+	/**
+	 * Constructor for a game without questions : the players are named, every draw uses the same generator.
+	 *
+	 * @param names the names of the players.
+	 * @param tileType the type of tiles used in the game 
+	 * @param scoringStrategy the scoring strategy to be used during the game.
+	 * @param random the generator of the draws, the same seed gives the same game.
+	 */
+	private Game(List<String> names, TileType tileType, ScoringStrategy scoringStrategy, RandomGenerator random) {
+		this.tileType = Objects.requireNonNull(tileType);
+		this.scoringStrategy = Objects.requireNonNull(scoringStrategy);
+		Objects.requireNonNull(random);
+
+		for (int i = 0; i < names.size(); i++) {
+			players.add(new Player(names.get(i), tileType, i * 3, random));
+		}
+		bagOfTiles = Tile.createTileBag(tileType, random);
+		shelf = new Shelf(random);
 	}
 
 	/**
@@ -237,7 +277,8 @@ public class Game {
 	 * At the end of the game, performs final score processing and displays results.
 	 */
 	private void startTerminalMode() {
-		GameManager gameManager = new GameManager(players, bagOfTiles, bagOfTokenAnimal, shelf);
+		AchievementHistory.preload(); // le journal est lu pendant la partie, pas à la fin
+		GameManager gameManager = new GameManager(players, bagOfTiles, bagOfTokenAnimal, shelf, new AchievementTracker(players, scoringStrategy));
 		ControllerTerminal terminalController = new ControllerTerminal(gameManager);
 		terminalController.startGame();
 		endGameProcessing(); 
@@ -250,39 +291,111 @@ public class Game {
 	 * At the end of the game, performs final score processing and displays results.
 	 */
 	private void startGraphicalMode() {
-		GameManager gameManager = new GameManager(players, bagOfTiles, bagOfTokenAnimal, shelf);
+		AchievementHistory.preload(); // le journal est lu pendant la partie, pas à la fin
+		GameManager gameManager = new GameManager(players, bagOfTiles, bagOfTokenAnimal, shelf, new AchievementTracker(players, scoringStrategy));
 		Application.run(Color.WHITE, context -> {
 			int tileSize = 70;
-			ImageLoader imagLoader = new ImageLoader(); 
+			FrameMetrics metrics = new FrameMetrics();
+			ImageLoader imagLoader = new ImageLoader(metrics); 
 			ViewUtils viewUtils = new ViewUtils(imagLoader); 
 			GameView view = (tileType == TileType.Hexagonal)
 					? new HexagoView(3 * tileSize, tileSize, tileSize ,viewUtils)
 							: new SquareView(3 * tileSize, tileSize, tileSize , viewUtils); 
 
-			ControllerGraphic graphicController = new ControllerGraphic(gameManager, context, view);
-			graphicController.startGame();
+			// toutes les images sont décodées avant le premier tour
+			if (tileType == TileType.Hexagonal) {
+				imagLoader.preload(List.of("data", "hex"), (loaded, total) -> view.drawLoading(context, "Chargement des images", loaded, total));
+				imagLoader.buildRotationAtlas("hex", tileSize, (loaded, total) -> view.drawLoading(context, "Préparation des tuiles", loaded, total));
+			} else {
+				imagLoader.preload(List.of("data"), (loaded, total) -> view.drawLoading(context, "Chargement des images", loaded, total));
+			}
 
-			endGameProcessing(); // Appel de la méthode commune
+			// la partie tourne sur son propre thread, celui de la fenêtre dessine les images
+			RenderLoop renderLoop = new RenderLoop(context, view, metrics);
+			ControllerGraphic graphicController = new ControllerGraphic(gameManager, renderLoop, view, new PlacementHints(renderLoop, scoringStrategy));
+			renderLoop.run(() -> {
+				graphicController.startGame();
+				endGameProcessing(); // Appel de la méthode commune
+			});
 
-			context.renderFrame(graphics -> graphicController.displayEndScreen(players));
+			graphicController.displayEndScreen(players);
 		});
 	}
 
+	/**
+	 * Plays a game in the terminal without questions : the answers are read from the script of the options,
+	 * and a summary of the game is written on one line at the end. The game is printed on the standard error
+	 * so that the standard output only carries the summary.
+	 * The achievements are not stored, a batch of games would fill the files of the players.
+	 *
+	 * @param options the options of the game.
+	 * @return true if the game is finished, false if it stopped on an error.
+	 */
+	private static boolean startBatchMode(BatchOptions options) {
+		Game game = new Game(options.names(), options.tileType(), options.scoringStrategy(), new Random(options.seed()));
+		PrintStream out = System.out;
+		// la sortie standard ne reçoit que le résumé : la partie s'affiche sur la sortie d'erreur
+		PrintStream gameOutput = options.quiet() ? new PrintStream(OutputStream.nullOutputStream()) : System.err;
+		TerminalRenderer renderer = options.quiet()
+				? new TerminalRenderer(Channels.newChannel(OutputStream.nullOutputStream()), false)
+						: new TerminalRenderer(new FileOutputStream(FileDescriptor.err).getChannel(), false);
+		long start = System.nanoTime();
+		String summary;
+		boolean finished;
+		try (ScriptedInput input = ScriptedInput.open(options.script())) {
+			System.setOut(gameOutput);
+			try {
+				GameManager gameManager = new GameManager(game.players, game.bagOfTiles, game.bagOfTokenAnimal, game.shelf, new AchievementTracker(game.players, game.scoringStrategy));
+				new ControllerTerminal(gameManager, renderer, input).startGame();
+				game.calculateFinalScores();
+				summary = GameSummary.finished(options, game.players, (System.nanoTime() - start) / 1_000_000);
+				finished = true;
+			} catch (RuntimeException e) {
+				summary = GameSummary.failed(options, input.lineNumber(), e, (System.nanoTime() - start) / 1_000_000);
+				finished = false;
+			} finally {
+				System.setOut(out);
+			}
+		}
+		writeSummary(options, summary);
+		return finished;
+	}
+
+	/*
+	 * Une ligne par partie : le fichier du résumé peut recevoir toute une série de parties.
+	 */
+	private static void writeSummary(BatchOptions options, String summary) {
+		if (options.summary() == null) {
+			System.out.println(summary);
+			return;
+		}
+		try {
+			Files.writeString(options.summary(), summary + "\n", StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Impossible d'écrire le résumé dans " + options.summary(), e);
+		}
+	}
+
+	/**
+	 * Calculates the scores for all players, applies bonus points and assigns surnames based on scores.
+	 */
+	private void calculateFinalScores() {
+		ScoringExecutor.calculateScores(players, scoringStrategy);
+
+		Score.calculateBonusPoints(players);
+
+		players.forEach(Player::attributeSurname);
+	}
+
 	/**
 	 * Processes the end of the game.
 	 * Calculates the scores for all players, applies bonus points, assigns surnames based on scores,
 	 * Stocks the achievements of the winner. 
 	 */
 	private void endGameProcessing() {
-		for (Player player : players) {
-			player.setScoringStrategy(scoringStrategy);
-			player.calculateScore();
-		}
-
-		Score.calculateBonusPoints(players);
+		calculateFinalScores();
 
 		players.forEach(player ->   {          
-			player.attributeSurname(); 
 			System.out.println("Le score du joueur " + player.getName() + " est : " + player.getScore());
 		});
 
@@ -326,10 +439,28 @@ public class Game {
 
 	   /**
 	    * The main method to start the game.
+	    * Without arguments, the game is set up with questions. With arguments, it is played in the terminal
+	    * from a script, see {@link BatchOptions} : the exit status is 1 if the game stopped on an error,
+	    * 2 if the options are invalid.
 	    * 
-	    * @param args Spurious arguments.
+	    * @param args The options of a game played from a script, or none.
 	    */
 	public static void main(String[] args) {
+		if (args.length > 0) {
+			BatchOptions options;
+			try {
+				options = BatchOptions.parse(args);
+			} catch (IllegalArgumentException e) {
+				System.err.println(e.getMessage());
+				System.err.println(BatchOptions.USAGE);
+				System.exit(2);
+				return;
+			}
+			if (!startBatchMode(options)) {
+				System.exit(1);
+			}
+			return;
+		}
 		Game game = initializeGame();
 		boolean isGraphical = chooseMode(game.tileType);
 
@@ -0,0 +1,109 @@
+package fr.uge.cascadia;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.score.Score;
+import fr.uge.cascadia.tile.Habitat;
+
+/**
+ * Writes the result of a game played with {@link BatchOptions} as one line of JSON,
+ * so that the results of many games can be appended to the same file and compared.
+ *
+ * A finished game gives the scores of every player, a stopped game gives the line of the script
+ * and the error that stopped it. Both give the seed to replay the game.
+ *
+ * @author massinissa
+ */
+public final class GameSummary {
+
+	private GameSummary() {
+		// utility class
+	}
+
+	/**
+	 * Describes a finished game.
+	 *
+	 * @param options the options of the game.
+	 * @param players the players, with their final scores.
+	 * @param millis  the duration of the game in milliseconds.
+	 * @return the summary, on one line.
+	 */
+	public static String finished(BatchOptions options, List<Player> players, long millis) {
+		Objects.requireNonNull(options);
+		Objects.requireNonNull(players);
+		var results = new StringJoiner(",", "[", "]");
+		for (Player player : players) {
+			results.add(playerOf(player));
+		}
+		return header("finished", options, millis) + ",\"players\":" + results + "}";
+	}
+
+	/**
+	 * Describes a game stopped by an error.
+	 *
+	 * @param options the options of the game.
+	 * @param line    the last line of the script read, 0 if none was read.
+	 * @param error   the error that stopped the game.
+	 * @param millis  the duration of the game in milliseconds.
+	 * @return the summary, on one line.
+	 */
+	public static String failed(BatchOptions options, int line, RuntimeException error, long millis) {
+		Objects.requireNonNull(options);
+		Objects.requireNonNull(error);
+		return header("failed", options, millis) + ",\"line\":" + line + ",\"error\":" + quote(error.toString()) + "}";
+	}
+
+	private static String header(String status, BatchOptions options, long millis) {
+		return "{\"status\":" + quote(status)
+				+ ",\"seed\":" + options.seed()
+				+ ",\"tiles\":" + quote(options.tileType().name())
+				+ ",\"scoring\":" + quote(options.scoring())
+				+ ",\"millis\":" + millis;
+	}
+
+	private static String playerOf(Player player) {
+		Score score = player.getScore();
+		var habitats = new StringJoiner(",", "{", "}");
+		for (Habitat habitat : Habitat.values()) {
+			habitats.add(quote(habitat.name()) + ":" + score.getHabitatScore(habitat));
+		}
+		var animals = new StringJoiner(",", "{", "}");
+		for (Animal animal : Animal.values()) {
+			animals.add(quote(animal.name()) + ":" + score.getAnimalScore(animal));
+		}
+		return "{\"name\":" + quote(player.getName())
+				+ ",\"score\":" + score.getTotalPoints()
+				+ ",\"bonus\":" + score.getBonusPoints()
+				+ ",\"surname\":" + (player.getSurname() == null ? "null" : quote(player.getSurname()))
+				+ ",\"habitats\":" + habitats
+				+ ",\"animals\":" + animals + "}";
+	}
+
+	/*
+	 * Chaîne JSON : les guillemets, les barres obliques inverses et les caractères de contrôle sont échappés.
+	 */
+	private static String quote(String text) {
+		var sb = new StringBuilder(text.length() + 2).append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '"' -> sb.append("\\\"");
+			case '\\' -> sb.append("\\\\");
+			case '\n' -> sb.append("\\n");
+			case '\r' -> sb.append("\\r");
+			case '\t' -> sb.append("\\t");
+			default -> {
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
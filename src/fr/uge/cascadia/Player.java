@@ -1,6 +1,8 @@
 package fr.uge.cascadia;
 
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import fr.uge.cascadia.animal.AnimalToken;
 import fr.uge.cascadia.board.Board;
@@ -52,8 +54,21 @@ public class Player {
      * @param initialTilesIndex The index for initial tiles when creating the board.
      */
     public Player(String name, TileType type, int initialTilesIndex) {
+        this(name, type, initialTilesIndex, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Creates a new player whose initial square tiles are drawn with the given generator.
+     *
+     * @param name The name of the player.
+     * @param type The type of tiles used in the board (Square or Hexagonal).
+     * @param initialTilesIndex The index for initial tiles when creating the board.
+     * @param random The generator choosing the animals of the initial square tiles.
+     */
+    public Player(String name, TileType type, int initialTilesIndex, RandomGenerator random) {
         Objects.requireNonNull(name, "Player name cannot be null.");
         Objects.requireNonNull(type, "Tile type cannot be null.");
+        Objects.requireNonNull(random);
 
         if (initialTilesIndex > 12 || initialTilesIndex % 3 != 0) {
             throw new IllegalArgumentException("`initialTilesIndex` must be one of the following values: {0, 3, 6, 9, 12}.");
@@ -61,7 +76,7 @@ public class Player {
 
         this.name = name;
         board = new Board(5, type);
-        this.board.initializeBoard(initialTilesIndex);
+        this.board.initializeBoard(initialTilesIndex, random);
         this.score = new Score(board);
     }
 
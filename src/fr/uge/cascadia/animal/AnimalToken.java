@@ -1,8 +1,5 @@
 package fr.uge.cascadia.animal;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Objects;
 /**
  * Represents an animal token in the game, encapsulating an {@link Animal} type.
@@ -23,37 +20,17 @@ public record AnimalToken(Animal animal) {
 	/**
 	 * Creates a bag of animal tokens.
 	 * 
-	 * Generates a list of 100 tokens with predefined proportions of animals
-	 * and shuffles it for random selection.
+	 * Generates a bag of 100 tokens, 20 tokens for each animal.
 	 * 
-	 * @return A shuffled list of animal tokens.
+	 * @return A bag of animal tokens.
 	 */
 
-	public static List <AnimalToken> createBagOfAnimalTokens() {
-		List <AnimalToken> BagOfAnimalTokens = new ArrayList <> ();
-
-		int i = 0;
-		while (i != 100) {
-			if (i < 20) {
-				BagOfAnimalTokens.add(new AnimalToken(Animal.Elk));
-
-			} else if (i < 40 && i >= 20) {
-				BagOfAnimalTokens.add(new AnimalToken(Animal.Buzzard));
-
-			} else if (i < 60 && i >= 40) {
-				BagOfAnimalTokens.add(new AnimalToken(Animal.Fox));
-			} else if (i < 80 && i >= 60) {
-				BagOfAnimalTokens.add(new AnimalToken(Animal.Bear));
-			} else {
-				BagOfAnimalTokens.add(new AnimalToken(Animal.Salmon));
-			}
-
-			i++;
-
+	public static TokenBag createBagOfAnimalTokens() {
+		TokenBag bagOfAnimalTokens = new TokenBag();
+		for (Animal animal : Animal.values()) {
+			bagOfAnimalTokens.add(animal, 20);
 		}
-		Collections.shuffle(BagOfAnimalTokens); 
-
-		return BagOfAnimalTokens;
+		return bagOfAnimalTokens;
 
 	}
 
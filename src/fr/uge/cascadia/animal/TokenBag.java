@@ -0,0 +1,164 @@
+package fr.uge.cascadia.animal;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * A bag of animal tokens stored as a multiset : the bag only keeps the number
+ * of remaining tokens for each animal, indexed by {@code Animal.ordinal()}.
+ *
+ * Drawing, returning a token and computing the probability of drawing an animal
+ * do not depend on the number of tokens in the bag.
+ *
+ * @author massinissa
+ */
+public final class TokenBag {
+
+	/**
+	 * One shared token per animal, tokens being immutable records.
+	 */
+	private static final AnimalToken[] TOKENS = createTokens();
+
+	/**
+	 * Number of remaining tokens for each animal.
+	 */
+	private final int[] counts = new int[TOKENS.length];
+
+	/**
+	 * Total number of remaining tokens.
+	 */
+	private int size;
+
+	/**
+	 * Creates an empty bag of tokens.
+	 */
+	public TokenBag() {
+	}
+
+	private static AnimalToken[] createTokens() {
+		Animal[] animals = Animal.values();
+		AnimalToken[] tokens = new AnimalToken[animals.length];
+		for (Animal animal : animals) {
+			tokens[animal.ordinal()] = new AnimalToken(animal);
+		}
+		return tokens;
+	}
+
+	/**
+	 * Adds tokens of an animal to the bag.
+	 *
+	 * @param animal the animal of the tokens.
+	 * @param count  the number of tokens to add (positive or zero).
+	 */
+	public void add(Animal animal, int count) {
+		Objects.requireNonNull(animal);
+		if (count < 0) {
+			throw new IllegalArgumentException("count must be positive or zero : " + count);
+		}
+		counts[animal.ordinal()] += count;
+		size += count;
+	}
+
+	/**
+	 * Puts a token back in the bag.
+	 *
+	 * @param token the token to return.
+	 */
+	public void add(AnimalToken token) {
+		Objects.requireNonNull(token);
+		add(token.animal(), 1);
+	}
+
+	/**
+	 * Removes one token of the same animal as the given token, if there is one.
+	 *
+	 * @param token the token to remove.
+	 * @return true if a token was removed, false if the bag had none of this animal.
+	 */
+	public boolean remove(AnimalToken token) {
+		Objects.requireNonNull(token);
+		int index = token.animal().ordinal();
+		if (counts[index] == 0) {
+			return false;
+		}
+		counts[index]--;
+		size--;
+		return true;
+	}
+
+	/**
+	 * Draws a random token from the bag, each remaining token having the same chance
+	 * to be drawn. The token is removed from the bag.
+	 *
+	 * @param random the random generator used for the draw.
+	 * @return the drawn token.
+	 * @throws IllegalStateException if the bag is empty.
+	 */
+	public AnimalToken draw(RandomGenerator random) {
+		Objects.requireNonNull(random);
+		if (size == 0) {
+			throw new IllegalStateException("The bag of tokens is empty.");
+		}
+		int target = random.nextInt(size);
+		int index = 0;
+		while (target >= counts[index]) {
+			target -= counts[index];
+			index++;
+		}
+		counts[index]--;
+		size--;
+		return TOKENS[index];
+	}
+
+	/**
+	 * Getter of the number of remaining tokens of an animal.
+	 *
+	 * @param animal the animal.
+	 * @return the number of tokens of this animal in the bag.
+	 */
+	public int count(Animal animal) {
+		Objects.requireNonNull(animal);
+		return counts[animal.ordinal()];
+	}
+
+	/**
+	 * Computes the exact probability that the next draw gives the animal.
+	 *
+	 * @param animal the animal.
+	 * @return the probability, between 0 and 1 (0 if the bag is empty).
+	 */
+	public double probability(Animal animal) {
+		Objects.requireNonNull(animal);
+		return size == 0 ? 0 : (double) counts[animal.ordinal()] / size;
+	}
+
+	/**
+	 * Getter of the number of remaining tokens.
+	 *
+	 * @return the size of the bag.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if the bag has no token left.
+	 *
+	 * @return true if the bag is empty.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public String toString() {
+		var sb = new StringBuilder("TokenBag{");
+		for (Animal animal : Animal.values()) {
+			sb.append(animal).append('=').append(counts[animal.ordinal()]);
+			if (animal.ordinal() < counts.length - 1) {
+				sb.append(", ");
+			}
+		}
+		return sb.append('}').toString();
+	}
+}
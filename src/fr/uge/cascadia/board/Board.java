@@ -1,10 +1,17 @@
 package fr.uge.cascadia.board;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import fr.uge.cascadia.Position;
 import fr.uge.cascadia.animal.Animal;
@@ -22,6 +29,11 @@ import fr.uge.cascadia.tile.TileType;
  * @author Massinissa
  */
 public class Board {
+	/**
+	 * Orders positions row by row, then column by column.
+	 */
+	private static final Comparator<Position> READING_ORDER = Comparator.comparingInt(Position::y).thenComparingInt(Position::x);
+
 	/**
 	 * Represents the grid of tiles that make up the game board.
 	 */
@@ -42,6 +54,45 @@ public class Board {
 	 */
 	private final TileType type;
 
+	/**
+	 * For each animal, the inserted tiles that are compatible with it and have no token yet.
+	 */
+	private final Map<Animal, Set<Tile>> openTiles = new EnumMap<>(Animal.class);
+
+	/**
+	 * For each animal, the tiles holding a token of this animal.
+	 */
+	private final Map<Animal, List<Tile>> animalTiles = new EnumMap<>(Animal.class);
+
+	/**
+	 * Number of contacts between the tokens of two animals, indexed by {@code Animal.ordinal()}.
+	 * Each pair of neighboring tokens counts once in both directions (so twice on the diagonal).
+	 */
+	private final int[][] animalContacts = new int[Animal.values().length][Animal.values().length];
+
+	/**
+	 * Number of contacts between two habitats, indexed by {@code Habitat.ordinal()}.
+	 * The two habitats of a tile count once in both directions (so twice on the diagonal).
+	 * On hexagonal boards, the common side of two neighboring tiles is read from each of the two tiles,
+	 * on square boards each pair of neighboring tiles counts once in both directions.
+	 */
+	private final int[][] habitatContacts = new int[Habitat.values().length][Habitat.values().length];
+
+	/**
+	 * Number of modifications of the tokens of each animal, indexed by {@code Animal.ordinal()}.
+	 */
+	private final int[] animalVersions = new int[Animal.values().length];
+
+	/**
+	 * Number of modifications of the tiles of each habitat (insertion, rotation), indexed by {@code Habitat.ordinal()}.
+	 */
+	private final int[] habitatVersions = new int[Habitat.values().length];
+
+	/**
+	 * Number of modifications of the board : tiles, tokens and size of the grid.
+	 */
+	private int version;
+
 	/**
 	 * Tracks the number of nature tokens currently available for the player.
 	 */
@@ -72,6 +123,10 @@ public class Board {
 		this.type = type;
 		this.grid = new ArrayList<>();
 		this.insertedTiles = new HashMap<>();
+		for (Animal animal : Animal.values()) {
+			openTiles.put(animal, new LinkedHashSet<>());
+			animalTiles.put(animal, new ArrayList<>());
+		}
 
 		// Initialize the grid with null tiles
 		for (int i = 0; i < size; i++) {
@@ -83,6 +138,61 @@ public class Board {
 		}
 	}
 
+	/**
+	 * Copies a board and its tiles.
+	 *
+	 * @param other The board to copy.
+	 */
+	private Board(Board other) {
+		this.initialSize = other.initialSize;
+		this.type = other.type;
+		Map<Tile, Tile> copies = new HashMap<>();
+		this.grid = new ArrayList<>(other.grid.size());
+		for (ArrayList<Tile> row : other.grid) {
+			ArrayList<Tile> copyRow = new ArrayList<>(row.size());
+			for (Tile tile : row) {
+				copyRow.add(tile == null ? null : copies.computeIfAbsent(tile, Tile::copy));
+			}
+			grid.add(copyRow);
+		}
+		this.insertedTiles = new HashMap<>();
+		other.insertedTiles.forEach((tile, p) -> insertedTiles.put(copies.get(tile), p));
+		// mêmes index dans le même ordre : la copie énumère ses cibles comme l'original
+		for (Animal animal : Animal.values()) {
+			Set<Tile> open = new LinkedHashSet<>();
+			for (Tile tile : other.openTiles.get(animal)) {
+				open.add(copies.get(tile));
+			}
+			openTiles.put(animal, open);
+			List<Tile> tiles = new ArrayList<>();
+			for (Tile tile : other.animalTiles.get(animal)) {
+				tiles.add(copies.get(tile));
+			}
+			animalTiles.put(animal, tiles);
+		}
+		for (int i = 0; i < animalContacts.length; i++) {
+			System.arraycopy(other.animalContacts[i], 0, animalContacts[i], 0, animalContacts[i].length);
+		}
+		for (int i = 0; i < habitatContacts.length; i++) {
+			System.arraycopy(other.habitatContacts[i], 0, habitatContacts[i], 0, habitatContacts[i].length);
+		}
+		System.arraycopy(other.animalVersions, 0, animalVersions, 0, animalVersions.length);
+		System.arraycopy(other.habitatVersions, 0, habitatVersions, 0, habitatVersions.length);
+		this.version = other.version;
+		this.natureTokens = other.natureTokens;
+		this.gainedNatureTokens = other.gainedNatureTokens;
+	}
+
+	/**
+	 * Copies the board with its tiles and tokens, to simulate moves without modifying it.
+	 * The copy and the board share no tile : each can change without affecting the other.
+	 *
+	 * @return a copy of the board.
+	 */
+	public Board copy() {
+		return new Board(this);
+	}
+
 	/**
 	 * Gets the grid of the board.
 	 * 
@@ -107,20 +217,29 @@ public class Board {
 	 * @param initialTilesIndex The index of the first tile to use from the bag of initial tiles.
 	 * */
 	public void initializeBoard(int initialTilesIndex) {
+		initializeBoard(initialTilesIndex, ThreadLocalRandom.current());
+	}
+
+	/**
+	 * Initializes the board by placing three initial tiles in the center of the grid,
+	 * the animals of square tiles are drawn with the given generator.
+	 *
+	 * @param initialTilesIndex The index of the first tile to use from the bag of initial tiles.
+	 * @param random            The generator choosing the animals of square tiles.
+	 * */
+	public void initializeBoard(int initialTilesIndex, RandomGenerator random) {
+		Objects.requireNonNull(random);
 		List<Tile> initialTiles = new ArrayList<>(); 
 		if (type.equals(TileType.Hexagonal)) {
 			initialTiles = Tile.createHexagonalTileBag("initialTiles.txt"); 
 		} 
 
-		Tile t1 = type == TileType.Hexagonal ? initialTiles.get(initialTilesIndex) : new SquareTile(Habitat.Forests);
-		Tile t2 = type == TileType.Hexagonal ? initialTiles.get(initialTilesIndex + 1) : new SquareTile(Habitat.Wetlands);
-		Tile t3 = type == TileType.Hexagonal ? initialTiles.get(initialTilesIndex + 2) : new SquareTile(Habitat.Mountains);
-		grid.get(initialSize / 2).set(initialSize / 2, t1);
-		grid.get(initialSize / 2 + 1).set(initialSize / 2 - 1, t2);
-		grid.get(initialSize / 2 + 1).set(initialSize / 2, t3);
-		insertedTiles.put(t1, new Position(initialSize / 2, initialSize / 2));
-		insertedTiles.put(t2, new Position(initialSize / 2 - 1, initialSize / 2 + 1));
-		insertedTiles.put(t3, new Position(initialSize / 2, initialSize / 2 + 1));
+		Tile t1 = type == TileType.Hexagonal ? initialTiles.get(initialTilesIndex) : new SquareTile(Habitat.Forests, random);
+		Tile t2 = type == TileType.Hexagonal ? initialTiles.get(initialTilesIndex + 1) : new SquareTile(Habitat.Wetlands, random);
+		Tile t3 = type == TileType.Hexagonal ? initialTiles.get(initialTilesIndex + 2) : new SquareTile(Habitat.Mountains, random);
+		placeTile(new Position(initialSize / 2, initialSize / 2), t1);
+		placeTile(new Position(initialSize / 2 - 1, initialSize / 2 + 1), t2);
+		placeTile(new Position(initialSize / 2, initialSize / 2 + 1), t3);
 
 	}
 
@@ -266,9 +385,7 @@ public class Board {
 
 		if (isFreeCell(p) && hasAdjacentTile(p)) {
 
-			// Insert the tile into the grid
-			grid.get(p.y()).set(p.x(), tile);
-			insertedTiles.put(tile, p); // Add the tile to the map of inserted tiles
+			placeTile(p, tile);
 
 			changeGridSize(); //changerla taille de la grille s'il le faut 
 			return true;
@@ -280,6 +397,202 @@ public class Board {
 
 
 
+	/**
+	 * Puts a tile in the grid and registers it in the indexes of the board.
+	 *
+	 * @param p    The position of the tile.
+	 * @param tile The tile to place.
+	 */
+	private void placeTile(Position p, Tile tile) {
+		grid.get(p.y()).set(p.x(), tile);
+		insertedTiles.put(tile, p); // Add the tile to the map of inserted tiles
+		openTile(tile);
+		linkHabitats(tile, p, 1);
+		touchHabitats(tile);
+		if (tile.hasAnimalToken()) {
+			animalVersions[tile.getAssignedAnimalToken().animal().ordinal()]++;
+		}
+	}
+
+	/**
+	 * Rotates an hexagonal tile clockwise, keeping the habitat contacts up to date
+	 * if the tile is already on the board.
+	 *
+	 * @param tile The tile to rotate. Must not be null.
+	 * @throws UnsupportedOperationException If the tile does not support rotation.
+	 */
+	public void rotateTileClockwise(Tile tile) {
+		Objects.requireNonNull(tile, "Tile cannot be null");
+		rotateTile(tile, tile::rotateClockwise);
+	}
+
+	/**
+	 * Rotates an hexagonal tile counterclockwise, keeping the habitat contacts up to date
+	 * if the tile is already on the board.
+	 *
+	 * @param tile The tile to rotate. Must not be null.
+	 * @throws UnsupportedOperationException If the tile does not support rotation.
+	 */
+	public void rotateTileCounterClockwise(Tile tile) {
+		Objects.requireNonNull(tile, "Tile cannot be null");
+		rotateTile(tile, tile::rotateCounterClockwise);
+	}
+
+	private void rotateTile(Tile tile, Runnable rotation) {
+		if (!tile.supportsRotation()) {
+			throw new UnsupportedOperationException("This tile does not support rotation");
+		}
+		Position p = insertedTiles.get(tile);
+		if (p == null) {
+			rotation.run();
+			return;
+		}
+		linkHabitats(tile, p, -1); // les côtés de la tuile changent, on retire ses anciens contacts
+		rotation.run();
+		linkHabitats(tile, p, 1);
+		touchHabitats(tile);
+	}
+
+	/**
+	 * Marks the habitats of a tile as modified.
+	 *
+	 * @param tile The tile that was inserted or rotated.
+	 */
+	private void touchHabitats(Tile tile) {
+		Set<Habitat> habitats = EnumSet.noneOf(Habitat.class);
+		habitats.addAll(tile.getHabitats());
+		for (Habitat habitat : habitats) {
+			habitatVersions[habitat.ordinal()]++;
+		}
+		version++;
+	}
+
+	/**
+	 * Adds (or removes with a negative delta) the habitat contacts of a tile :
+	 * its two habitats and the sides it shares with the neighboring tiles.
+	 *
+	 * @param tile  The tile.
+	 * @param p     The position of the tile.
+	 * @param delta 1 to add the contacts, -1 to remove them.
+	 */
+	private void linkHabitats(Tile tile, Position p, int delta) {
+		if (type == TileType.Hexagonal) {
+			List<Habitat> habitats = tile.getHabitats();
+			if (habitats.size() == 2) {
+				addContact(habitatContacts, habitats.get(0).ordinal(), habitats.get(1).ordinal(), delta);
+			}
+			List<Habitat> sides = tile.getRotatedHabitats();
+			for (Position neighbor : getHexagonalNeighbors(p)) {
+				if (!isInBounds(neighbor)) continue;
+				Tile neighborTile = grid.get(neighbor.y()).get(neighbor.x());
+				if (neighborTile == null) continue;
+				List<Habitat> neighborSides = neighborTile.getRotatedHabitats();
+				// le côté commun est lu depuis chacune des deux tuiles, comme dans HexagoHabitatAnalyzer
+				int[] indices = getHexagonalSideIndices(p, neighbor);
+				addContact(habitatContacts, sides.get(indices[0]).ordinal(), neighborSides.get(indices[1]).ordinal(), delta);
+				int[] back = getHexagonalSideIndices(neighbor, p);
+				addContact(habitatContacts, neighborSides.get(back[0]).ordinal(), sides.get(back[1]).ordinal(), delta);
+			}
+		} else {
+			int habitat = tile.getHabitats().get(0).ordinal();
+			for (Position neighbor : getSquareNeighbors(p)) {
+				if (!isInBounds(neighbor)) continue;
+				Tile neighborTile = grid.get(neighbor.y()).get(neighbor.x());
+				if (neighborTile == null) continue;
+				addContact(habitatContacts, habitat, neighborTile.getHabitats().get(0).ordinal(), delta);
+			}
+		}
+	}
+
+	/**
+	 * Adds the contacts of a token that was just inserted with the tokens around it.
+	 *
+	 * @param p      The position of the token.
+	 * @param animal The animal of the token.
+	 */
+	private void linkAnimal(Position p, Animal animal) {
+		for (Position neighbor : getNeighbors(p)) {
+			if (!isInBounds(neighbor)) continue;
+			Tile neighborTile = grid.get(neighbor.y()).get(neighbor.x());
+			if (neighborTile != null && neighborTile.hasAnimalToken()) {
+				addContact(animalContacts, animal.ordinal(), neighborTile.getAssignedAnimalToken().animal().ordinal(), 1);
+			}
+		}
+	}
+
+	private static void addContact(int[][] contacts, int i, int j, int delta) {
+		contacts[i][j] += delta;
+		contacts[j][i] += delta;
+	}
+
+	/**
+	 * Gets the indices of the common side of two neighboring hexagonal positions,
+	 * as seen from each of them (indices in {@link Tile#getRotatedHabitats()}).
+	 *
+	 * @param current  The first position.
+	 * @param neighbor A neighbor of the first position.
+	 * @return An array with the side index of {@code current}, then the one of {@code neighbor}.
+	 * @throws IllegalArgumentException If the two positions are not neighbors.
+	 */
+	public static int[] getHexagonalSideIndices(Position current, Position neighbor) {
+		Objects.requireNonNull(current);
+		Objects.requireNonNull(neighbor);
+		int dx = neighbor.x() - current.x();
+		int dy = neighbor.y() - current.y();
+		boolean isEvenRow = (current.y() % 2 == 0); // ça dépend de la la ligne si paire ou impaire 
+		if (dx == -1 && dy == 0)  return new int[]{1, 0};
+		if (dx == 1 && dy == 0)  return new int[]{4, 1};
+		if (isEvenRow) {
+			if (dx == -1 && dy == -1) return new int[]{2, 5};
+			if (dx == -1 && dy == 1)  return new int[]{0, 3};
+			if (dx == 0 && dy == -1)  return new int[]{3, 0};
+			if (dx == 0 && dy == 1)    return new int[]{5, 2};
+		} else {
+			if (dx == 1 && dy == -1) return new int[]{3, 0};
+			if (dx == 1 && dy == 1)  return new int[]{5, 2};
+			if (dx == 0 && dy == -1) return new int[]{5, 2};
+			if (dx == 0 && dy == 1) return new int[]{0, 3};
+		}
+		throw new IllegalArgumentException("Invalid neighbor coordinates! Current: (" + current.x() + ", " + current.y() + "), Neighbor: (" + neighbor.x() + ", " + neighbor.y() + ")");
+	}
+
+	/**
+	 * Gets the number of contacts between the tokens of two animals.
+	 *
+	 * @param animal1 The first animal.
+	 * @param animal2 The second animal.
+	 * @return The number of pairs of neighboring tokens of these animals (doubled if the animals are the same).
+	 */
+	public int getAnimalContacts(Animal animal1, Animal animal2) {
+		Objects.requireNonNull(animal1);
+		Objects.requireNonNull(animal2);
+		return animalContacts[animal1.ordinal()][animal2.ordinal()];
+	}
+
+	/**
+	 * Gets the number of contacts between two habitats, on the same tile or between two neighboring tiles.
+	 *
+	 * @param habitat1 The first habitat.
+	 * @param habitat2 The second habitat.
+	 * @return The number of contacts of these habitats (doubled if the habitats are the same).
+	 */
+	public int getHabitatContacts(Habitat habitat1, Habitat habitat2) {
+		Objects.requireNonNull(habitat1);
+		Objects.requireNonNull(habitat2);
+		return habitatContacts[habitat1.ordinal()][habitat2.ordinal()];
+	}
+
+	/**
+	 * Checks if two habitats touch each other on the board.
+	 *
+	 * @param habitat1 The first habitat.
+	 * @param habitat2 The second habitat.
+	 * @return {@code true} if the two habitats are adjacent, {@code false} otherwise.
+	 */
+	public boolean areHabitatsAdjacent(Habitat habitat1, Habitat habitat2) {
+		return getHabitatContacts(habitat1, habitat2) > 0;
+	}
+
 	/**
 	 * Increments the number of Nature Tokens for the player.
 	 * Also increments the count of gained Nature Tokens used success tracking.
@@ -354,21 +667,41 @@ public class Board {
 		Objects.requireNonNull(p, "position cannot be null");
 		Objects.requireNonNull(token, "Token cannot be null");
 
-		if (isInBounds(p)) {
-			Tile tile = grid.get(p.y()).get(p.x());
-			if (tile != null && tile.getCompatibleAnimals().contains(token.animal()) && !tile.hasAnimalToken()) {
-				tile.setAssignedAnimalToken(token);
-				System.out.println("Token inserted successfully at position: " + p);
-				if (tile.hasNatureIcon()) {
-					addNatureToken(); 
-				}
-				return true;
-			}
+		if (placeToken(p, token)) {
+			System.out.println("Token inserted successfully at position: " + p);
+			return true;
 		}
 		System.err.println("Token insertion failed at position: " + p);
 		return false;
 	}
 
+	/**
+	 * Inserts a token like {@link #insertToken(Position, AnimalToken)} without printing anything,
+	 * to simulate moves on a {@link #copy()} of the board.
+	 *
+	 * @param p the position where the token should be placed.
+	 * @param token the token to insert.
+	 * @return true if the token was successfully inserted, false otherwise.
+	 */
+	public boolean placeToken(Position p, AnimalToken token) {
+		Objects.requireNonNull(p, "position cannot be null");
+		Objects.requireNonNull(token, "Token cannot be null");
+
+		if (!isInBounds(p)) return false;
+		Tile tile = grid.get(p.y()).get(p.x());
+		if (tile == null || !tile.getCompatibleAnimals().contains(token.animal()) || tile.hasAnimalToken()) return false;
+		tile.setAssignedAnimalToken(token);
+		closeTile(tile);
+		animalTiles.get(token.animal()).add(tile);
+		linkAnimal(p, token.animal());
+		animalVersions[token.animal().ordinal()]++;
+		version++;
+		if (tile.hasNatureIcon()) {
+			addNatureToken(); 
+		}
+		return true;
+	}
+
 	/**
 	 * Checks if there is at least one free place on the board for a given token.
 	 *
@@ -378,13 +711,56 @@ public class Board {
 	public boolean freePlaceForToken(AnimalToken token) {
 		Objects.requireNonNull(token, "Token cannot be null");
 
-		for (Tile tile : insertedTiles.keySet()) {
-			// Check if the tile is compatible with the token's animal and does not already have a token assigned
-			if (tile.getCompatibleAnimals().contains(token.animal()) && !tile.hasAnimalToken()) {
-				return true;
-			}
+		return !openTiles.get(token.animal()).isEmpty();
+	}
+
+	/**
+	 * Gets the number of inserted tiles compatible with an animal that have no token yet.
+	 *
+	 * @param animal the animal to check.
+	 * @return the number of free places for a token of this animal.
+	 */
+	public int freePlaceCount(Animal animal) {
+		Objects.requireNonNull(animal, "Animal cannot be null");
+		return openTiles.get(animal).size();
+	}
+
+	/**
+	 * Gets the positions where a token of the given animal can be inserted.
+	 *
+	 * @param animal the animal of the token.
+	 * @return the list of legal positions for a token of this animal.
+	 */
+	public List<Position> getTokenTargets(Animal animal) {
+		Objects.requireNonNull(animal, "Animal cannot be null");
+		List<Position> targets = new ArrayList<>(openTiles.get(animal).size());
+		for (Tile tile : openTiles.get(animal)) {
+			targets.add(insertedTiles.get(tile));
+		}
+		return targets;
+	}
+
+	/**
+	 * Registers a newly inserted tile as a free place for each of its compatible animals.
+	 *
+	 * @param tile the inserted tile.
+	 */
+	private void openTile(Tile tile) {
+		if (tile.hasAnimalToken()) return;
+		for (Animal animal : tile.getCompatibleAnimals()) {
+			openTiles.get(animal).add(tile);
+		}
+	}
+
+	/**
+	 * Removes a tile that just received a token from the free places.
+	 *
+	 * @param tile the tile that received a token.
+	 */
+	private void closeTile(Tile tile) {
+		for (Animal animal : tile.getCompatibleAnimals()) {
+			openTiles.get(animal).remove(tile);
 		}
-		return false;
 	}
 
 
@@ -396,6 +772,15 @@ public class Board {
 	 * 
 	 */
 	private void changeGridSize() {
+		int rows = grid.size();
+		int columns = grid.get(0).size();
+		growGrid();
+		if (grid.size() != rows || grid.get(0).size() != columns) {
+			version++; // les positions ont pu changer
+		}
+	}
+
+	private void growGrid() {
 		for (var j: grid.get(0)) {
 			if (j != null) {
 				addRowTop(); // haut 
@@ -501,6 +886,40 @@ public class Board {
 		return type;
 	}
 
+	/**
+	 * Gets the version of the tokens of an animal. It changes each time a token of this animal
+	 * is put on the board, so a score computed for a version stays valid as long as the version does not change.
+	 *
+	 * @param animal the animal.
+	 * @return the number of modifications of the tokens of this animal.
+	 */
+	public int getAnimalVersion(Animal animal) {
+		Objects.requireNonNull(animal, "Animal cannot be null");
+		return animalVersions[animal.ordinal()];
+	}
+
+	/**
+	 * Gets the version of the tiles of an habitat. It changes each time a tile with this habitat
+	 * is inserted or rotated on the board.
+	 *
+	 * @param habitat the habitat.
+	 * @return the number of modifications of the tiles of this habitat.
+	 */
+	public int getHabitatVersion(Habitat habitat) {
+		Objects.requireNonNull(habitat, "Habitat cannot be null");
+		return habitatVersions[habitat.ordinal()];
+	}
+
+	/**
+	 * Gets the version of the whole board. It changes with every tile, token and rotation,
+	 * and each time the grid grows.
+	 *
+	 * @return the number of modifications of the board.
+	 */
+	public int getVersion() {
+		return version;
+	}
+
 
 
 	/**
@@ -539,17 +958,27 @@ public class Board {
 
 	public int getAnimalCount(Animal animal) {
 		Objects.requireNonNull(animal, "L'animal ne peut pas être null.");
-		int count = 0;
+		return animalTiles.get(animal).size();
+	}
 
-		for (List<Tile> row : grid) { 
-			for (Tile tile : row) { 
-				if (tile != null && tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == animal) {
-					count++;
-				}
-			}
-		}
 
-		return count;
+	/**
+	 * Gets the positions of the tiles holding a token of the specified animal,
+	 * in reading order (row by row, then column by column) like a scan of the grid.
+	 *
+	 * @param animal The animal to look for (must not be null).
+	 * @return The positions of the tokens of this animal.
+	 * @throws NullPointerException If the provided animal is null.
+	 */
+	public List<Position> getAnimalPositions(Animal animal) {
+		Objects.requireNonNull(animal, "L'animal ne peut pas être null.");
+		List<Tile> tiles = animalTiles.get(animal);
+		List<Position> positions = new ArrayList<>(tiles.size());
+		for (Tile tile : tiles) {
+			positions.add(insertedTiles.get(tile));
+		}
+		positions.sort(READING_ORDER);
+		return positions;
 	}
 
 
@@ -568,29 +997,10 @@ public class Board {
 		Objects.requireNonNull(board); 
 		Objects.requireNonNull(animal1); 
 		Objects.requireNonNull(animal2); 
-		var grid = board.getGrid();
-		for (int row = 0; row < grid.size(); row++) {
-			for (int col = 0; col < grid.get(row).size(); col++) {
-				Tile currentTile = grid.get(row).get(col);
-				if (currentTile == null) 		continue;
-				if (isTokenAssignedToAnimal(currentTile, animal1) && isTokenAssignedToAnimal(currentTile, animal2)) {
-					return true; }
-				List<Position> neighbors = Board.getHexagonalNeighbors(new Position(col, row));
-				for (Position neighbor : neighbors) {
-					if (!board.isInBounds(neighbor)) continue;
-					Tile neighborTile = grid.get(neighbor.y()).get(neighbor.x());
-					if (neighborTile == null) continue;
-					if ((isTokenAssignedToAnimal(currentTile, animal1) && isTokenAssignedToAnimal(neighborTile, animal2)) ||
-							(isTokenAssignedToAnimal(currentTile, animal2) && isTokenAssignedToAnimal(neighborTile, animal1))) {
-						return true; // Les animaux sont adjacents sur des tuiles voisines
-					}}}}
-		return false;}
-
-	
-	
-	
-	private static boolean isTokenAssignedToAnimal(Tile tile, Animal animal) {
-		return tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == animal;
+		if (animal1 == animal2) {
+			return board.getAnimalCount(animal1) > 0;
+		}
+		return board.getAnimalContacts(animal1, animal2) > 0;
 	}
 
 
@@ -598,4 +1008,8 @@ public class Board {
 
 
 
+
+
+
+
 }
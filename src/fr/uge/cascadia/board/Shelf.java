@@ -1,22 +1,25 @@
 package fr.uge.cascadia.board;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.random.RandomGenerator;
 
+import fr.uge.cascadia.animal.Animal;
 import fr.uge.cascadia.animal.AnimalToken;
+import fr.uge.cascadia.animal.TokenBag;
 import fr.uge.cascadia.tile.Tile;
 
 
 
 /**
  * The Shelf class represents a storage system for tiles and animal tokens.
- * Each tile and token is assigned a unique ID for tracking.
- * The shelf uses two maps:
- * - `tileMap`: Stores tiles associated with their unique IDs.
- * - `tokenMap`: Stores animal tokens associated with their unique IDs.
- * 
- * 
- * 
+ * Each tile and token is assigned a unique ID for tracking, which is the index of its slot.
+ * The shelf uses two fixed-size arrays:
+ * - `tiles`: Stores tiles in their slot.
+ * - `tokens`: Stores animal tokens in their slot.
+ *
+ * The number of tokens of each animal on the shelf is kept up to date,
+ * so that overpopulation checks do not need to look at the slots.
+ *
  * This class provides methods to add, retrieve, and manage tiles and tokens.
  *
  *	@author Massinissa
@@ -25,66 +28,110 @@ import fr.uge.cascadia.tile.Tile;
 
 
 public class Shelf {
-	/* 
-	 *Stores tiles with their associated unique IDs.
+	/**
+	 * Maximum number of pairs of tiles and tokens on the shelf.
+	 */
+	public static final int CAPACITY = 4;
+
+	/*
+	 *Stores tiles in the slot of their ID.
 	 * */
 
-	private final Map<Integer, Tile> tileMap = new LinkedHashMap<>();
+	private final Tile[] tiles = new Tile[CAPACITY];
 
-	/*Stores animal tokens with their associated unique IDs.
+	/*Stores animal tokens in the slot of their ID.
 	 */
-	private final Map<Integer, AnimalToken> tokenMap = new LinkedHashMap<>();
+	private final AnimalToken[] tokens = new AnimalToken[CAPACITY];
 
+	/*
+	 * Number of tokens of each animal on the shelf, indexed by ordinal.
+	 */
+	private final int[] animalCounts = new int[Animal.values().length];
+
+	/*
+	 * Read only views of the used slots, shared by all the callers : their size follows nextId.
+	 */
+	private final List<Tile> tilesView = new SlotsView<>(tiles);
+	private final List<AnimalToken> tokensView = new SlotsView<>(tokens);
 
+	/*
+	 * Vue des emplacements utilisés d'un tableau : la taille est relue à chaque appel, sans copie.
+	 */
+	private final class SlotsView<E> extends AbstractList<E> implements RandomAccess {
+		private final E[] slots;
 
-	private int nextId = 0; 
+		private SlotsView(E[] slots) {
+			this.slots = slots;
+		}
+
+		@Override
+		public E get(int index) {
+			Objects.checkIndex(index, nextId);
+			return slots[index];
+		}
+
+		@Override
+		public int size() {
+			return nextId;
+		}
+	}
+
+	/*
+	 * Number of slots already used, which is also the next ID.
+	 */
+	private int nextId = 0;
+
+	/*
+	 * Tire les tuiles et les jetons : une graine donnée rejoue la même partie.
+	 */
+	private final RandomGenerator random;
 
     /**
      * Default constructor for the Shelf class.
      * Initializes the shelf with default settings.
      */
-	public Shelf() {}
+	public Shelf() {
+		this(new Random());
+	}
+
+	/**
+	 * Creates a shelf drawing its tiles and tokens with the given generator.
+	 *
+	 * @param random The generator used for every draw.
+	 */
+	public Shelf(RandomGenerator random) {
+		this.random = Objects.requireNonNull(random);
+	}
+
 
-	
 	/**
-	 * getter of the size of the shelf 
-	 * @return size of the shelf type int 
+	 * getter of the size of the shelf
+	 * @return size of the shelf type int
 	 */
 	public int size() {
-		return tileMap.size();
+		return nextId;
 	}
 
 	/**
 	 * Fills the shelf with pairs of tiles and animal tokens.
-	 * 
+	 *
 	 * - Null tiles in the shelf are replaced with random tiles from the bag.
 	 * - Null tokens in the shelf are replaced with random animal tokens from the bag.
 	 * - Additional pairs of tiles and tokens are added until the shelf contains 4 pairs.
 	 * - If all tokens on the shelf are of the same type, they are replaced to ensure variety.
-	 * 
+	 *
 	 * @param bagOfTiles        The list of available tiles. Cannot be null.
-	 * @param bagOfTokenAnimals The list of available animal tokens. Cannot be null.
+	 * @param bagOfTokenAnimals The bag of available animal tokens. Cannot be null.
 	 */
 
-	public void makeShelf(List<Tile> bagOfTiles, List<AnimalToken> bagOfTokenAnimals) {
+	public void makeShelf(List<Tile> bagOfTiles, TokenBag bagOfTokenAnimals) {
 		Objects.requireNonNull(bagOfTiles, "The bag of tiles cannot be null.");
 		Objects.requireNonNull(bagOfTokenAnimals, "The bag of token animals cannot be null.");
-		Random random = new Random();
-		for (var entry : tileMap.entrySet()) {
-			if (entry.getValue() == null && !bagOfTiles.isEmpty()) { 
-				Tile tile = bagOfTiles.remove(random.nextInt(bagOfTiles.size()));
-				tileMap.put(entry.getKey(), tile); // Remplace la tuile null par une nouvelle tuile
-			}
-		}
-		for (var entry : tokenMap.entrySet()) {
-			if (entry.getValue() == null && !bagOfTokenAnimals.isEmpty()) {
-				AnimalToken token = bagOfTokenAnimals.remove(random.nextInt(bagOfTokenAnimals.size()));
-				tokenMap.put(entry.getKey(), token); // Remplace le token null par un nouveau token
-			}
-		}
-		while (tileMap.size() < 4 && !bagOfTiles.isEmpty() && !bagOfTokenAnimals.isEmpty()) {
+		completeTiles(bagOfTiles, random);
+		completeTokens(bagOfTokenAnimals, random);
+		while (nextId < CAPACITY && !bagOfTiles.isEmpty() && !bagOfTokenAnimals.isEmpty()) {
 			Tile tile = bagOfTiles.remove(random.nextInt(bagOfTiles.size()));
-			AnimalToken token = bagOfTokenAnimals.remove(random.nextInt(bagOfTokenAnimals.size()));
+			AnimalToken token = bagOfTokenAnimals.draw(random);
 			add(tile, token);         }
 		while (sameAnimalTokens() == 4) replaceTokensInShelf(bagOfTokenAnimals, random);
 
@@ -95,53 +142,48 @@ public class Shelf {
 
 
 	/**
-	 * Removes the last non-null token from the right and shifts the remaining tokens 
+	 * Removes the last non-null token from the right and shifts the remaining tokens
 	 * to maintain order, filling the first positions with null values.
-	 * 
+	 *
 	 */
-	public void removeLastToken() { //cette méthode sert à gérer le mode solo 
-		boolean foundNonNull = false;
-		for (int id = tokenMap.size() - 1; id >= 0; id--) {
-			if (tokenMap.get(id) != null) {
-				tokenMap.put(id, null); // Remplace par null
-				foundNonNull = true;
-				break;}}
-		if (!foundNonNull) return;		
-		Map<Integer, AnimalToken> reorderedMap = new HashMap<>();
-		int nullIndex = 0;
-		for (int id = 0; id < tokenMap.size(); id++) {
-			if (tokenMap.get(id) == null) {
-				reorderedMap.put(nullIndex++, null);}}
-		for (int id = 0; id < tokenMap.size(); id++) {
-			if (tokenMap.get(id) != null) reorderedMap.put(nullIndex++, tokenMap.get(id));
-		}
-		tokenMap.clear();
-		tokenMap.putAll(reorderedMap);
+	public void removeLastToken() { //cette méthode sert à gérer le mode solo
+		int last = lastNonNull(tokens);
+		if (last == -1) return;
+		setToken(last, null);
+		shiftRight(tokens);
 	}
 
 	/**
-	 * Removes the last non-null tile from the right and shifts the remaining tile 
+	 * Removes the last non-null tile from the right and shifts the remaining tile
 	 * to maintain order, filling the first positions with null values.
-	 * 
+	 *
 	 */
 	public void removeLastTile() {
-		boolean foundNonNull = false;
-		for (int id = tileMap.size() - 1; id >= 0; id--) {
-			if (tileMap.get(id) != null) {
-				tileMap.put(id, null); // Remplace par null
-				foundNonNull = true;
-				break;	}}
-		if (!foundNonNull) return;
-		Map<Integer, Tile> reorderedMap = new HashMap<>();
-		int nullIndex = 0;
-		for (int id = 0; id < tileMap.size(); id++) {
-			if (tileMap.get(id) == null) {
-				reorderedMap.put(nullIndex++, null);}}
-		for (int id = 0; id < tileMap.size(); id++) {
-			if (tileMap.get(id) != null) {
-				reorderedMap.put(nullIndex++, tileMap.get(id));}}
-		tileMap.clear();
-		tileMap.putAll(reorderedMap);
+		int last = lastNonNull(tiles);
+		if (last == -1) return;
+		tiles[last] = null;
+		shiftRight(tiles);
+	}
+
+	private int lastNonNull(Object[] slots) {
+		for (int id = nextId - 1; id >= 0; id--) {
+			if (slots[id] != null) return id;
+		}
+		return -1;
+	}
+
+	/*
+	 * Moves the non-null elements to the last slots, keeping their order,
+	 * and fills the first slots with null.
+	 */
+	private <T> void shiftRight(T[] slots) {
+		int write = nextId - 1;
+		for (int read = nextId - 1; read >= 0; read--) {
+			if (slots[read] != null) {
+				slots[write--] = slots[read];
+			}
+		}
+		while (write >= 0) slots[write--] = null;
 	}
 
 
@@ -154,17 +196,9 @@ public class Shelf {
 	 * @return The frequency of identical tokens (3 or 4), oe else -1 .
 	 */
 	public int sameAnimalTokens() {
-		// Filtre les valeurs nulles de la tokenMap
-		var filteredTokens = tokenMap.values().stream()
-				.filter(Objects::nonNull) 
-				.collect(Collectors.toList());
-
-		Map<AnimalToken, Long> tokenFrequency = filteredTokens.stream()
-				.collect(Collectors.groupingBy(token -> token, Collectors.counting()));
-
-		for (var frequency : tokenFrequency.values()) {
+		for (int frequency : animalCounts) {
 			if (frequency == 4 || frequency == 3) {
-				return frequency.intValue();
+				return frequency;
 			}
 		}
 		return -1;
@@ -175,12 +209,16 @@ public class Shelf {
 	 *
 	 * @param tile  The tile to add (cannot be null).
 	 * @param token The animal token to add (cannot be null).
+	 * @throws IllegalStateException if the shelf is full.
 	 */
 	public void add(Tile tile, AnimalToken token) {
 		Objects.requireNonNull(tile, "Tile cannot be null.");
 		Objects.requireNonNull(token, "Token cannot be null.");
-		tileMap.put(nextId, tile);
-		tokenMap.put(nextId, token);
+		if (nextId == CAPACITY) {
+			throw new IllegalStateException("The shelf is full.");
+		}
+		tiles[nextId] = tile;
+		setToken(nextId, token);
 		nextId++;
 	}
 
@@ -191,8 +229,8 @@ public class Shelf {
 	 */
 
 	public void removeTile(int id) {
-		if (tileMap.containsKey(id)) {
-			tileMap.put(id, null); // Remplace la tuile par null
+		if (isUsedSlot(id)) {
+			tiles[id] = null; // Remplace la tuile par null
 		}
 	}
 
@@ -203,28 +241,42 @@ public class Shelf {
 	 */
 
 	public void removeToken(int id) {
-		if (tokenMap.containsKey(id)) {
-			tokenMap.put(id, null); // Remplace le token par null
+		if (isUsedSlot(id)) {
+			setToken(id, null); // Remplace le token par null
 		}
 	}
 
+	private boolean isUsedSlot(int id) {
+		return id >= 0 && id < nextId;
+	}
+
+	/*
+	 * Puts a token (or null) in a slot and keeps the counters of animals up to date.
+	 */
+	private void setToken(int id, AnimalToken token) {
+		AnimalToken old = tokens[id];
+		if (old != null) animalCounts[old.animal().ordinal()]--;
+		if (token != null) animalCounts[token.animal().ordinal()]++;
+		tokens[id] = token;
+	}
+
 
 	/**
 	 * Replaces all tokens in the shelf if 4 identical tokens are detected.
 	 *
-	 * @param bagOfTokenAnimals The list of tokens available for replacement.
-	 * @param random            An instance of Random for selecting tokens randomly.
+	 * @param bagOfTokenAnimals The bag of tokens available for replacement.
+	 * @param random            The generator selecting tokens randomly.
 	 */
 
-	private void replaceTokensInShelf(List<AnimalToken> bagOfTokenAnimals, Random random) {
+	private void replaceTokensInShelf(TokenBag bagOfTokenAnimals, RandomGenerator random) {
 		Objects.requireNonNull(bagOfTokenAnimals);
 		Objects.requireNonNull(random);
-		for (Map.Entry<Integer, AnimalToken> entry : tokenMap.entrySet()) {
+		for (int id = 0; id < nextId; id++) {
 			if (!bagOfTokenAnimals.isEmpty()) {
-				AnimalToken oldToken = entry.getValue();
-				AnimalToken newToken = bagOfTokenAnimals.remove(random.nextInt(bagOfTokenAnimals.size()));
-				tokenMap.put(entry.getKey(), newToken);
-				bagOfTokenAnimals.add(oldToken);
+				AnimalToken oldToken = tokens[id];
+				AnimalToken newToken = bagOfTokenAnimals.draw(random);
+				setToken(id, newToken);
+				if (oldToken != null) bagOfTokenAnimals.add(oldToken);
 			}
 		}
 	}
@@ -235,14 +287,15 @@ public class Shelf {
 	 * @param bagOfTokens The bag of available tokens.
 	 */
 
-	public void completeTokens(List<AnimalToken> bagOfTokens) {
+	public void completeTokens(TokenBag bagOfTokens) {
 		Objects.requireNonNull(bagOfTokens, "Le sac de jetons d'animaux ne peut pas être null.");
-		Random random = new Random();
+		completeTokens(bagOfTokens, random);
+	}
 
-		for (Map.Entry<Integer, AnimalToken> entry : tokenMap.entrySet()) {
-			if (entry.getValue() == null && !bagOfTokens.isEmpty()) {
-				AnimalToken newToken = bagOfTokens.remove(random.nextInt(bagOfTokens.size()));
-				tokenMap.put(entry.getKey(), newToken);
+	private void completeTokens(TokenBag bagOfTokens, RandomGenerator random) {
+		for (int id = 0; id < nextId; id++) {
+			if (tokens[id] == null && !bagOfTokens.isEmpty()) {
+				setToken(id, bagOfTokens.draw(random)); // Remplace le token null par un nouveau token
 			}
 		}
 	}
@@ -255,32 +308,37 @@ public class Shelf {
 
 	public void completeTiles(List<Tile> bagOfTiles) {
 		Objects.requireNonNull(bagOfTiles, "Le sac de tuiles ne peut pas être null.");
-		Random random = new Random();
+		completeTiles(bagOfTiles, random);
+	}
 
-		for (Map.Entry<Integer, Tile> entry : tileMap.entrySet()) {
-			if (entry.getValue() == null && !bagOfTiles.isEmpty()) {
-				Tile newTile = bagOfTiles.remove(random.nextInt(bagOfTiles.size()));
-				tileMap.put(entry.getKey(), newTile);
+	private void completeTiles(List<Tile> bagOfTiles, RandomGenerator random) {
+		for (int id = 0; id < nextId; id++) {
+			if (tiles[id] == null && !bagOfTiles.isEmpty()) {
+				tiles[id] = bagOfTiles.remove(random.nextInt(bagOfTiles.size())); // Remplace la tuile null par une nouvelle tuile
 			}
 		}
 	}
 
 	/**
-	 * Returns an list of tiles in the shelf.
+	 * Returns a read only view of the tiles in the shelf, indexed by their ID.
+	 * The view follows the changes of the shelf, its size included : a slot added or removed later is seen by the caller.
+	 * A slot whose tile or token was taken holds null.
 	 *
 	 * @return A list of tiles.
 	 */
 	public List<Tile> getTiles() {
-		return new ArrayList<>(tileMap.values());
+		return tilesView;
 	}
 
 	/**
-	 * Returns an  list of tokens in the shelf.
+	 * Returns a read only view of the tokens in the shelf, indexed by their ID.
+	 * The view follows the changes of the shelf, its size included : a slot added or removed later is seen by the caller.
+	 * A slot whose tile or token was taken holds null.
 	 *
 	 * @return A list of tokens.
 	 */
 	public List<AnimalToken> getTokens() {
-		return new ArrayList<>(tokenMap.values());
+		return tokensView;
 	}
 
 	/**
@@ -290,7 +348,7 @@ public class Shelf {
 	 * @return The tile associated to the given ID.
 	 */
 	public Tile getTileById(int id) {
-		return tileMap.get(id);
+		return isUsedSlot(id) ? tiles[id] : null;
 	}
 
 	/**
@@ -300,7 +358,18 @@ public class Shelf {
 	 * @return The token associated to the given ID.
 	 */
 	public AnimalToken getTokenById(int id) {
-		return tokenMap.get(id);
+		return isUsedSlot(id) ? tokens[id] : null;
+	}
+
+	/**
+	 * Returns the number of tokens of an animal on the shelf.
+	 *
+	 * @param animal The animal to count.
+	 * @return The number of tokens of this animal.
+	 */
+	public int countTokens(Animal animal) {
+		Objects.requireNonNull(animal);
+		return animalCounts[animal.ordinal()];
 	}
 
 
@@ -313,25 +382,26 @@ public class Shelf {
 	 * @param replace     a player's  decision
 	 * @return True if the tokens were replaced, otherwise False.
 	 */
-	public boolean replaceThreeTokens(List<AnimalToken> bagOfTokens, boolean replace) {
+	public boolean replaceThreeTokens(TokenBag bagOfTokens, boolean replace) {
 		Objects.requireNonNull(bagOfTokens);
-		if (!replace) return false; 
-		Map<AnimalToken, Long> tokenFrequency = tokenMap.values().stream().collect(Collectors.groupingBy(token -> token, Collectors.counting()));
-		// Trouver les tokens avec une réptition de 3
-		var tokensToReplace = tokenFrequency.entrySet().stream().filter(entry -> entry.getValue() == 3).map(Map.Entry::getKey).toList();
-
-		if (tokensToReplace.isEmpty() || bagOfTokens.isEmpty()) return false; // Rien à remplacer ou sac vide
-		Random random = new Random();
-		for (Map.Entry<Integer, AnimalToken> entry : tokenMap.entrySet()) {  		// Remplacer les tokens identiques
-			AnimalToken currentToken = entry.getValue();
-			if (tokensToReplace.contains(currentToken) && !bagOfTokens.isEmpty()) {
+		if (!replace) return false;
+		// Trouver l'animal avec une réptition de 3
+		Animal toReplace = null;
+		for (Animal animal : Animal.values()) {
+			if (animalCounts[animal.ordinal()] == 3) toReplace = animal;
+		}
+
+		if (toReplace == null || bagOfTokens.isEmpty()) return false; // Rien à remplacer ou sac vide
+		for (int id = 0; id < nextId; id++) {  		// Remplacer les tokens identiques
+			AnimalToken currentToken = tokens[id];
+			if (currentToken != null && currentToken.animal() == toReplace && !bagOfTokens.isEmpty()) {
 				AnimalToken newToken;
-				do {					
-					if (bagOfTokens.isEmpty()) return false; 
-					newToken = bagOfTokens.remove(random.nextInt(bagOfTokens.size()));
-				} while (Collections.frequency(tokenMap.values(), newToken) == 3);
+				do {
+					if (bagOfTokens.isEmpty()) return false;
+					newToken = bagOfTokens.draw(random);
+				} while (animalCounts[newToken.animal().ordinal()] == 3);
 				bagOfTokens.add(currentToken); // Remet l'ancien token dans le sac
-				tokenMap.put(entry.getKey(), newToken);   }} 
+				setToken(id, newToken);   }}
 		return true;	}
 
 
@@ -343,8 +413,8 @@ public class Shelf {
 	 */
 
 	public boolean hasNoTken() {
-		for (var token : tokenMap.values()) {
-			if (token !=null )return false ;  
+		for (int id = 0; id < nextId; id++) {
+			if (tokens[id] != null) return false;
 		}
 		return true;
 	}
@@ -354,18 +424,15 @@ public class Shelf {
 
 	@Override
 	public String toString() {
-		if (tileMap.values().contains(null)) {
-			return "";
-		}
-
-		if (tokenMap.values().contains(null)) {
-			return "";
+		for (int id = 0; id < nextId; id++) {
+			if (tiles[id] == null || tokens[id] == null) {
+				return "";
+			}
 		}
 		var sb = new StringJoiner("\n");
-		var tiles = new ArrayList<>(tileMap.keySet());
-		for (int id : tiles) {
-			String tile = tileMap.get(id).toString(); 
-			String token = tokenMap.get(id).toString();
+		for (int id = 0; id < nextId; id++) {
+			String tile = tiles[id].toString();
+			String token = tokens[id].toString();
 			sb.add("ID: " + id + "       Tile: " + tile + "       Token: " + token);
 		}
 
@@ -378,4 +445,3 @@ public class Shelf {
 
 
 }
-
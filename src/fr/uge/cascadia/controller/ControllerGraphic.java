@@ -3,36 +3,42 @@ package fr.uge.cascadia.controller;
 import fr.uge.cascadia.*;
 import fr.uge.cascadia.animal.AnimalToken;
 import fr.uge.cascadia.board.Shelf;
+import fr.uge.cascadia.success.AchievementTracker;
 import fr.uge.cascadia.tile.Tile;
+import fr.uge.cascadia.view.FrameSnapshot;
 import fr.uge.cascadia.view.GameView;
 
-import com.github.forax.zen.ApplicationContext;
 import com.github.forax.zen.PointerEvent;
 import com.github.forax.zen.KeyboardEvent;
 
 import java.awt.Color;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * A record representing the graphical controller for the game.
  * It handles interactions between the game logic, graphical context, and game view.
+ * The controller runs on the game thread : it publishes frames to the render loop
+ * and reads the events it forwards.
  *
  * @param gameManager The manger of the logic of the game.
- * @param context  The graphical application context.
+ * @param renderLoop The loop drawing the frames and forwarding the events of the window.
  * @param view     The graphical view of the game.
+ * @param hints    The gains of the selected tile, computed in the background.
  */
 
-public record ControllerGraphic (  GameManager gameManager ,   ApplicationContext context , GameView view) implements GameInterface {
+public record ControllerGraphic (  GameManager gameManager ,   RenderLoop renderLoop , GameView view, PlacementHints hints) implements GameInterface {
 
 
 	/**
 	 * Creates a Graphical COntroller
 	 */
 	public ControllerGraphic {
-		Objects.requireNonNull(context); 
+		Objects.requireNonNull(renderLoop); 
 		Objects.requireNonNull(view); 
 		Objects.requireNonNull(gameManager); 
+		Objects.requireNonNull(hints); 
 	}
 
 
@@ -47,6 +53,20 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 
 	
 	
+	@Override
+	public void showPlacementHints(Player player, Tile tile, AnimalToken token) {
+		hints.show(player, tile, token);
+	}
+
+
+
+	@Override
+	public void clearPlacementHints() {
+		hints.clear();
+	}
+
+
+
 	/**
 	 * Asks the player for a position in the grid of the board
 	 *
@@ -56,22 +76,20 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 	@Override
 	public Position askForPosition(Player player) {
 		Objects.requireNonNull(player); 
-		while(true) {
-			var event = context.pollOrWaitEvent(10);
-			if (event != null) {
-				switch (event) {
-				case PointerEvent pe ->{
-					if(pe.action() == PointerEvent.Action.POINTER_DOWN){
-						var location = pe.location();
-						Position realPosition = view.fromScreenToRealCoordinates(location.x(), location.y(), player.getBoard());
-						if (realPosition != null) {
-							return realPosition; // Position valide retournée
-						} 
-					}
-				} 
-				default -> {}
-				}
-			}}
+		return InputDispatcher.await(renderLoop::pollOrWaitEvent, event -> {
+			if (!(event instanceof PointerEvent pe)) return null;
+			var location = pe.location();
+			Position realPosition = view.fromScreenToRealCoordinates(location.x(), location.y(), player.getBoard());
+			if (pe.action() == PointerEvent.Action.POINTER_DOWN && realPosition != null) {
+				renderLoop.update(frame -> frame.withHover(null));
+				return realPosition; // Position valide retournée
+			}
+			var frame = renderLoop.frame();
+			if (pe.action() == PointerEvent.Action.POINTER_MOVE && frame != null && !Objects.equals(frame.hover(), realPosition)) {
+				renderLoop.update(current -> current.withHover(realPosition)); // seules l'ancienne et la nouvelle case survolées sont redessinées
+			}
+			return null;
+		});
 	}
 
 	/**
@@ -83,22 +101,13 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 	@Override
 	public boolean makeUserAnswer (String question ) {
 		Objects.requireNonNull(question);
-		view.displayMessage(context,question , Color.RED, 300, 10 , 14);
-		view.displayMessage(context, "(Y for YES) / (N for NO)", Color.RED, 300, 25 , 14);
-		while (true) {
-			var event = context.pollOrWaitEvent(10);
-			if (event !=null) {
-				switch (event) {
-				case KeyboardEvent ke  ->{ 
-					if (ke.action() == KeyboardEvent.Action.KEY_PRESSED) {
-						switch (ke.key() ) {
-						case KeyboardEvent.Key.Y -> {return true ; } 
-						case KeyboardEvent.Key.N -> {return false  ;} 
-						default -> {}  }	}
-				}
-				default -> {}}
-			}
-		}
+		displayMessage(question , Color.RED, 300, 10 , 14);
+		displayMessage("(Y for YES) / (N for NO)", Color.RED, 300, 25 , 14);
+		return InputDispatcher.awaitKey(renderLoop::pollOrWaitEvent, key -> switch (key) {
+			case Y -> true;
+			case N -> false;
+			default -> null;
+		});
 	}
 
 	
@@ -118,22 +127,14 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 	public int askForTokenId(Shelf shelf) {
 		Objects.requireNonNull(shelf); 
 		List<AnimalToken> tokens = shelf.getTokens();
-		while (true) {
-			var event = context.pollOrWaitEvent(10);
-			if( event != null ) {
-				switch (event) {
-				case  PointerEvent pe -> {
-					if (pe.action() == PointerEvent.Action.POINTER_DOWN) {
-						var location = pe.location();
-						int x = location.x();
-						int y = location.y();
-						Position realPosition = view.getCoupleFromScreen(x, y);
-						if (realPosition != null && realPosition.y() >= 0 && realPosition.y() < shelf.size() && realPosition.x() == 1 && tokens.get(realPosition.y())!=null) {
-							return realPosition.y();			}
-					}
-				}
-				default -> {}
-				}}}}
+		return InputDispatcher.awaitClick(renderLoop::pollOrWaitEvent, location -> {
+			Position realPosition = view.getCoupleFromScreen(location.x(), location.y());
+			if (realPosition != null && realPosition.y() >= 0 && realPosition.y() < shelf.size() && realPosition.x() == 1 && tokens.get(realPosition.y())!=null) {
+				return realPosition.y();
+			}
+			return null;
+		});
+	}
 
 
 
@@ -150,24 +151,14 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 	@Override
 	public int askForPair(Shelf shelf) {
 		Objects.requireNonNull(shelf); 
-		while (true) {
-			var event = context.pollOrWaitEvent(10); 
-			if(event !=null) {
-				switch (event) {
-				case PointerEvent pe -> {
-					if (pe.action() == PointerEvent.Action.POINTER_DOWN) {
-						var location = pe.location();
-						int x = location.x();
-						int y = location.y();
-						Position realPosition = view.getCoupleFromScreen(x, y);
-						if (realPosition != null && realPosition.y() >= 0 && realPosition.y() < shelf.size() && realPosition.x() == 0 ) {
-							return realPosition.y();
-						}
-					}
-				}
-				default ->{}
-				}}
-		}}
+		return InputDispatcher.awaitClick(renderLoop::pollOrWaitEvent, location -> {
+			Position realPosition = view.getCoupleFromScreen(location.x(), location.y());
+			if (realPosition != null && realPosition.y() >= 0 && realPosition.y() < shelf.size() && realPosition.x() == 0 ) {
+				return realPosition.y();
+			}
+			return null;
+		});
+	}
 
 
 
@@ -182,23 +173,13 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 	public int askForTileId(Shelf shelf) {
 		Objects.requireNonNull(shelf); 
 		List<Tile> tilesList = List.copyOf(shelf.getTiles());
-		while (true) {
-			var event = context.pollOrWaitEvent(10);
-			if ( event != null ) {
-				switch(event) {
-				case PointerEvent pe -> {
-					if (pe.action() == PointerEvent.Action.POINTER_DOWN) {
-						var location = pe.location();
-						int x = location.x();
-						int y = location.y();
-						Position realPosition = view.getCoupleFromScreen(x, y);
-						if (realPosition != null && realPosition.y() >= 0 && realPosition.y() < shelf.size() && realPosition.x() == 0 && tilesList.get(realPosition.y())!=null) {
-							return realPosition.y();
-						}
-					}
-				}
-				default -> {}
-				}			}}
+		return InputDispatcher.awaitClick(renderLoop::pollOrWaitEvent, location -> {
+			Position realPosition = view.getCoupleFromScreen(location.x(), location.y());
+			if (realPosition != null && realPosition.y() >= 0 && realPosition.y() < shelf.size() && realPosition.x() == 0 && tilesList.get(realPosition.y())!=null) {
+				return realPosition.y();
+			}
+			return null;
+		});
 	}
 
 
@@ -212,25 +193,15 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 	 */
 	@Override
 	public String askToUseNatureToken() {
-		view.displayMessage(context, "use a nature Token ", Color.orange, 250, 10 , 12);
-		view.displayMessage(context, "N (no)  , J(choose token to replace) , T(choose a tile and choose a token) " , Color.orange, 170, 25 , 12);
-		while (true) {
-			var event = context.pollOrWaitEvent(10);
-			if (event!=null) {
-				switch (event) {
-				case KeyboardEvent ke-> {
-					if ( ke.action() == KeyboardEvent.Action.KEY_PRESSED ){
-						switch (ke.key() ) {
-						case KeyboardEvent.Key.T -> {return "T";} 
-						case KeyboardEvent.Key.J -> {return "J" ;  }
-						case KeyboardEvent.Key.N -> { return "" ; }
-						default -> {}
-						}
-					}
-				}
-				default -> {} 
-				}
-			}}}
+		displayMessage("use a nature Token ", Color.orange, 250, 10 , 12);
+		displayMessage("N (no)  , J(choose token to replace) , T(choose a tile and choose a token) " , Color.orange, 170, 25 , 12);
+		return InputDispatcher.awaitKey(renderLoop::pollOrWaitEvent, key -> switch (key) {
+			case T -> "T";
+			case J -> "J";
+			case N -> "";
+			default -> null;
+		});
+	}
 
 
 
@@ -249,7 +220,42 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 	public void displayMessage(String message, Color color , int x , int y , int size) {
 		Objects.requireNonNull(message); 
 		Objects.requireNonNull(color); 
-		view.displayMessage(context, message, color, x,y , size);
+		renderLoop.update(frame -> frame.withMessage(new FrameSnapshot.Message(message, color, x, y, size)));
+	}
+
+
+
+	/**
+	 * Displays a status message, redrawn with each frame until the next status.
+	 *
+	 * @param message The message to display
+	 * @param color   The color of the message
+	 */
+	@Override
+	public void displayStatus(String message, Color color) {
+		Objects.requireNonNull(message);
+		Objects.requireNonNull(color);
+		renderLoop.update(frame -> frame.withStatus(new FrameSnapshot.Message(message, color, 1000, 15, 15)));
+	}
+
+
+
+	/**
+	 * Displays the progress of the player toward the achievements, redrawn with each frame until the next update.
+	 *
+	 * @param player  The player
+	 * @param closest The achievements the player is the closest to fulfill
+	 * @param reached The achievements fulfilled by the last turn of the player
+	 */
+	@Override
+	public void displayAchievements(Player player, List<AchievementTracker.Progress> closest, List<AchievementTracker.Progress> reached) {
+		Objects.requireNonNull(player);
+		Objects.requireNonNull(closest);
+		Objects.requireNonNull(reached);
+		List<String> lines = new ArrayList<>();
+		reached.forEach(progress -> lines.add("Succès atteint : " + progress.id() + " - " + progress.description()));
+		closest.forEach(progress -> lines.add(progress.toString()));
+		renderLoop.update(frame -> frame.withAchievements(lines));
 	}
 
 
@@ -263,23 +269,10 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 	@Override
 	public void displayEndScreen(List<Player> players) {
 		Objects.requireNonNull(players, "La liste des joueurs ne peut pas être null.");
-		try {
-			Thread.sleep(1000);
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();}
+		var context = renderLoop.context(); // la partie est finie : on est de nouveau sur le thread de la fenêtre
 		view.drawEndScreen(context, players); 
-		while (true) {
-			var event = context.pollOrWaitEvent(10);
-			if (event!=null) {
-				switch (event) {
-				case KeyboardEvent ke -> {
-					if (ke.action() == KeyboardEvent.Action.KEY_PRESSED && ke.key() == KeyboardEvent.Key.Q) {
-						context.dispose() ; 		}
-				}
-				default ->{}
-				}
-			}
-		}
+		InputDispatcher.awaitKey(context::pollOrWaitEvent, key -> key == KeyboardEvent.Key.Q ? key : null);
+		context.dispose();
 	}
 
 
@@ -298,7 +291,7 @@ public record ControllerGraphic (  GameManager gameManager ,   ApplicationContex
 		Objects.requireNonNull(shelf); 
 		Objects.requireNonNull(player); 
 
-		view.draw(context, shelf, player , this);
+		renderLoop.publish(FrameSnapshot.of(gameManager.players().indexOf(player), player, shelf, renderLoop.frame()));
 	}
 
 }
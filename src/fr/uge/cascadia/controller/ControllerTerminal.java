@@ -4,6 +4,7 @@ import fr.uge.cascadia.Player;
 import fr.uge.cascadia.Position;
 import fr.uge.cascadia.animal.AnimalToken;
 import fr.uge.cascadia.board.Shelf;
+import fr.uge.cascadia.success.AchievementTracker;
 import fr.uge.cascadia.tile.Tile;
 
 import java.awt.Color;
@@ -14,10 +15,13 @@ import java.util.Objects;
 /**
  * A record representing the terminal controller for the game.
  * It handles interactions between the game logic using the terminal .
+ * The answers are typed in the console, or read from a script to play without a player.
  *
  * @param gameManager The manager of the logic of the game.
+ * @param renderer    Draws the board and the shelf in the terminal.
+ * @param input       Gives the answers of the players.
  */
-public record ControllerTerminal ( GameManager gameManager)  implements GameInterface {
+public record ControllerTerminal ( GameManager gameManager, TerminalRenderer renderer, TerminalInput input)  implements GameInterface {
 
 
 	
@@ -26,6 +30,17 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 	 */
 	public ControllerTerminal {
 		Objects.requireNonNull(gameManager); 
+		Objects.requireNonNull(renderer); 
+		Objects.requireNonNull(input); 
+	}
+
+	/**
+	 * Creates a terminal Controller drawing on the standard output and reading the console.
+	 *
+	 * @param gameManager The manager of the logic of the game.
+	 */
+	public ControllerTerminal(GameManager gameManager) {
+		this(gameManager, TerminalRenderer.standardOutput(), TerminalInput.console());
 	}
 
 	
@@ -34,7 +49,11 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 	 * Starts the game loop for the terminal controller.
 	 */
 	public void startGame() {
-		gameManager.gameLoop(this);
+		try {
+			gameManager.gameLoop(this);
+		} finally {
+			renderer.close(); // le terminal retrouve tout son écran pour les scores
+		}
 	}
 
 
@@ -49,8 +68,8 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 	 */
 	@Override
 	public Position askForPosition(Player player) {
-		int x = Integer.parseInt(IO.readln("Enter x: "));
-		int y = Integer.parseInt(IO.readln("Enter y: "));
+		int x = Integer.parseInt(input.readln("Enter x: "));
+		int y = Integer.parseInt(input.readln("Enter y: "));
 		return new Position(x, y);
 	}
 
@@ -70,7 +89,7 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 
 		int index;
 		do {
-			index = Integer.parseInt(IO.readln("Choose a tile index (0 to " + (tiles.size() - 1) + "): "));
+			index = Integer.parseInt(input.readln("Choose a tile index (0 to " + (tiles.size() - 1) + "): "));
 		} while (index < 0 || tiles.get(index)==null || tokens.get(index)==null);
 
 
@@ -88,9 +107,9 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 	 */
 	@Override
 	public String askToUseNatureToken() {
-		String input = IO.readln("Appuyez sur 'T' pour utiliser un jeton Nature (choix tuile et jeton indépendants), 'J' pour remplacer des jetons que vous voulez , ou Entrée pour continuer.\n");
-		if (input.equalsIgnoreCase("T") || input.equalsIgnoreCase("J")) {
-			return input.toUpperCase(); // Retourne soit "T" soit "J"
+		String choice = input.readln("Appuyez sur 'T' pour utiliser un jeton Nature (choix tuile et jeton indépendants), 'J' pour remplacer des jetons que vous voulez , ou Entrée pour continuer.\n");
+		if (choice.equalsIgnoreCase("T") || choice.equalsIgnoreCase("J")) {
+			return choice.toUpperCase(); // Retourne soit "T" soit "J"
 		}
 		return ""; // Pas d'utilisation de jeton nature
 	}
@@ -114,7 +133,7 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 
 		int index;
 		do {
-			index = Integer.parseInt(IO.readln("Choisissez l'index de la tuile (0-" + (tiles.size() - 1) + ") : "));
+			index = Integer.parseInt(input.readln("Choisissez l'index de la tuile (0-" + (tiles.size() - 1) + ") : "));
 		} while (index < 0 || index >= tiles.size());
 
 		return index;
@@ -139,7 +158,7 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 
 		int index;
 		do {
-			index = Integer.parseInt(IO.readln("Choisissez l'index du jeton (0-" + (tokens.size() - 1) + ") : "));
+			index = Integer.parseInt(input.readln("Choisissez l'index du jeton (0-" + (tokens.size() - 1) + ") : "));
 		} while (index < 0 || index >= tokens.size());
 
 		return index;
@@ -153,6 +172,7 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 	 */
 	@Override
 	public void displayEndScreen(List<Player> players) {
+		renderer.close();
 		System.out.println("\n=== Scores finaux ===");
 		for (Player player : players) {
 			System.out.println(player.getName() + " : " + player.getScore() );
@@ -177,13 +197,9 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 
 	@Override
 	public void draw(Shelf shelf, Player player) {
-		System.out.println("plateau du joueur : "+ player.getName() );
-		if(!shelf.toString().equals("")) {
-
-			player.getBoard().displayBoard();
-			System.out.println(shelf);
-
-		}
+		Objects.requireNonNull(shelf);
+		Objects.requireNonNull(player);
+		renderer.draw(shelf, player); // seules les cases modifiées sont renvoyées au terminal
 
 	}
 
@@ -196,6 +212,30 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 	}
 
 
+	@Override
+	public void displayStatus(String message, Color color) {
+		Objects.requireNonNull(message);
+		System.out.println(message+"\n");
+	}
+
+
+
+	@Override
+	public void displayAchievements(Player player, List<AchievementTracker.Progress> closest, List<AchievementTracker.Progress> reached) {
+		Objects.requireNonNull(player);
+		Objects.requireNonNull(closest);
+		Objects.requireNonNull(reached);
+		for (var progress : reached) {
+			System.out.println("Succès atteint par " + player.getName() + " : " + progress);
+		}
+		if (!closest.isEmpty()) {
+			System.out.println("Succès les plus proches :");
+			closest.forEach(progress -> System.out.println("  " + progress));
+			System.out.println();
+		}
+	}
+
+
 	/**
 	 * Displays a question to the user and waits for a Yes (Y) or No (N) response.
 	 *
@@ -204,7 +244,7 @@ public record ControllerTerminal ( GameManager gameManager)  implements GameInte
 	 */
 	@Override
 	public boolean makeUserAnswer(String question) {
-		String answer = IO.readln(question + "Y(yes)/N(no)").trim();
+		String answer = input.readln(question + "Y(yes)/N(no)").trim();
 
 		return answer.equalsIgnoreCase("y");
 	}
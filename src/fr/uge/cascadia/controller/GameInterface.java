@@ -1,11 +1,13 @@
 package fr.uge.cascadia.controller;
 
 import fr.uge.cascadia.*;
+import fr.uge.cascadia.animal.AnimalToken;
 import fr.uge.cascadia.board.Shelf;
+import fr.uge.cascadia.success.AchievementTracker;
+import fr.uge.cascadia.tile.Tile;
 
 import java.util.List;
 
-import com.github.forax.zen.ApplicationContext;
 
 
 import java.awt.Color;
@@ -47,6 +49,16 @@ public sealed interface GameInterface permits ControllerTerminal , ControllerGra
 	public void displayMessage(String message, Color color , int x , int y , int size) ; 
 
 
+	/**
+	 * Displays a status message, kept on screen until the next status
+	 * so the game does not have to pause for it to be read.
+	 *
+	 * @param message The message to display
+	 * @param color   The color of the message
+	 */
+	public void displayStatus(String message, Color color);
+
+
 
 
 	/**
@@ -59,17 +71,52 @@ public sealed interface GameInterface permits ControllerTerminal , ControllerGra
 	public void draw(Shelf shelf, Player player);
 
 	/**
-	 * Provides the application context for graphical implementations.
+	 * Provides the render loop of graphical implementations, which forwards the events of the window.
 	 *
-	 * @return The application context.
+	 * @return The render loop.
 	 * @throws UnsupportedOperationException if the implementation does not support this operation.
 	 */
-	public default ApplicationContext context() {
+	public default RenderLoop renderLoop() {
 		throw new UnsupportedOperationException("This operation is not supported for this implementation.");
 	}
 
 
 
+	/**
+	 * Shows where the selected tile scores the most while the player places it.
+	 * Does nothing by default.
+	 *
+	 * @param player The player placing the tile.
+	 * @param tile   The selected tile.
+	 * @param token  The token placed after the tile, or null if it is not chosen yet.
+	 */
+	public default void showPlacementHints(Player player, Tile tile, AnimalToken token) {
+	}
+
+
+
+	/**
+	 * Hides the hints of {@link #showPlacementHints} once the tile is placed.
+	 * Does nothing by default.
+	 */
+	public default void clearPlacementHints() {
+	}
+
+
+
+	/**
+	 * Shows the progress of the player toward the achievements during the game.
+	 * Does nothing by default.
+	 *
+	 * @param player  The player.
+	 * @param closest The achievements the player is the closest to fulfill.
+	 * @param reached The achievements fulfilled by the last turn of the player.
+	 */
+	public default void displayAchievements(Player player, List<AchievementTracker.Progress> closest, List<AchievementTracker.Progress> reached) {
+	}
+
+
+
 	/**
 	 * Asks the player whether they want to use a Nature Token and specifies the available options.
 	 *
@@ -2,16 +2,15 @@ package fr.uge.cascadia.controller;
 
 import fr.uge.cascadia.*;
 import fr.uge.cascadia.animal.AnimalToken;
+import fr.uge.cascadia.animal.TokenBag;
 import fr.uge.cascadia.board.Shelf;
+import fr.uge.cascadia.success.AchievementTracker;
 import fr.uge.cascadia.tile.Tile;
 
 import java.awt.Color;
 import java.util.List;
 import java.util.Objects;
 
-import com.github.forax.zen.KeyboardEvent;
-import com.github.forax.zen.PointerEvent;
-
 
 /**
  * The GameManager class manages the logic and flow of the Cascadia game.
@@ -21,9 +20,14 @@ import com.github.forax.zen.PointerEvent;
  * @param bagOfTiles   The bag of tiles available for the game.
  * @param bagOfTokens  The bag of animal tokens available for the game.
  * @param shelf        The shelf containing the tiles and tokens available to players.
+ * @param tracker      The progress of the players toward the achievements, updated after each turn.
  */
-public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<AnimalToken> bagOfTokens, Shelf shelf) {
+public record GameManager(List<Player> players, List<Tile> bagOfTiles, TokenBag bagOfTokens, Shelf shelf, AchievementTracker tracker) {
 
+	/**
+	 * Number of achievements shown to the player during their turn.
+	 */
+	private static final int CLOSEST_ACHIEVEMENTS = 3;
 
 
 	/**
@@ -32,6 +36,7 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 	 * @param bagOfTiles   The bag of tiles for the game.
 	 * @param bagOfTokens  The bag of animal tokens for the game.
 	 * @param shelf        The shelf used to hold tiles and tokens during gameplay.
+	 * @param tracker      The achievement tracker of the players.
 	 * @throws NullPointerException If any of the arguments is null.
 	 */
 	public GameManager {
@@ -39,6 +44,7 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 		Objects.requireNonNull(bagOfTiles);
 		Objects.requireNonNull(bagOfTokens);
 		Objects.requireNonNull(shelf);
+		Objects.requireNonNull(tracker);
 	}
 
 
@@ -59,10 +65,12 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 
 				gameInterface.draw(shelf, player);
 
-				gameInterface.displayMessage("Tour " + count + "/20", Color.GREEN, 1000, 15, 15);
-				sleep(1000); 
+				gameInterface.displayStatus("Tour " + count + "/20", Color.GREEN);
+				gameInterface.displayAchievements(player, tracker.closestOf(player, CLOSEST_ACHIEVEMENTS), List.of());
 				oneTurn(gameInterface, player);
-				
+				var reached = tracker.update(player);
+				gameInterface.displayAchievements(player, tracker.closestOf(player, CLOSEST_ACHIEVEMENTS), reached);
+
 				gameInterface.draw(shelf, player);
 			}
 			count++;
@@ -100,7 +108,7 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 		gameInterface.draw(shelf, player);
 		int firstIndex = gameInterface.askForTileId(shelf); 
 		Tile firstTile = shelf.getTileById(firstIndex); 
-		if (tileInsertionLoop(gameInterface, player, firstTile)) {
+		if (tileInsertionLoop(gameInterface, player, firstTile, null)) {
 			shelf.removeTile(firstIndex);
 			gameInterface.draw(shelf, player);
 			while (!tileRotationLoop(gameInterface, player, firstTile)) {
@@ -110,10 +118,8 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 				shelf.removeToken(secondIndex);
 
 				gameInterface.draw(shelf, player);
-				sleep(1000);
 				removeExtraTileAndToken(gameInterface , player); 
 				gameInterface.draw(shelf, player);
-				sleep(1000);
 			}
 		}
 	}
@@ -129,7 +135,7 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 		gameInterface.draw(shelf, player);
 		int index = gameInterface.askForPair(shelf);
 		Tile tile = shelf.getTileById(index); 
-		if (tileInsertionLoop(gameInterface, player, tile)) {
+		if (tileInsertionLoop(gameInterface, player, tile, shelf.getTokenById(index))) {
 			shelf.removeTile(index);
 			gameInterface.draw(shelf, player);
 			while (!tileRotationLoop(gameInterface, player, tile)) {
@@ -141,7 +147,6 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 
 				removeExtraTileAndToken(gameInterface , player); 
 				gameInterface.draw(shelf, player);
-				sleep(2500); 
 			}
 		}
 	}
@@ -211,14 +216,6 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 
 
 
-	private void sleep(int mseconds) {
-		try {
-			Thread.sleep(mseconds);
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
-		}
-	}
-
 	
 	
 	/**
@@ -227,18 +224,24 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 	 * @param gameInterface The interface used to interact with the game 
 	 * @param player
 	 * @param tile 
+	 * @param token The token taken with the tile, or null if it is chosen after.
 	 * @return True when the tile is successfully inserted.
 	 */
-	private boolean tileInsertionLoop(GameInterface gameInterface, Player player, Tile tile) {
-		while (true) {
-			Position position = gameInterface.askForPosition(player);
+	private boolean tileInsertionLoop(GameInterface gameInterface, Player player, Tile tile, AnimalToken token) {
+		gameInterface.showPlacementHints(player, tile, token);
+		try {
+			while (true) {
+				Position position = gameInterface.askForPosition(player);
 
-			if (player.playerInsertTile(position, tile)) {
-				System.out.println(("Tile inserted successfully at (" + position.x() + ", " + position.y() + ")."));
-				bagOfTiles.remove(tile);
+				if (player.playerInsertTile(position, tile)) {
+					System.out.println(("Tile inserted successfully at (" + position.x() + ", " + position.y() + ")."));
+					bagOfTiles.remove(tile);
 
-				return true;
+					return true;
+				}
 			}
+		} finally {
+			gameInterface.clearPlacementHints();
 		}
 	}
 
@@ -267,7 +270,6 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 					return true;
 				} 
 			} else {
-				sleep(2500);
 				System.out.println("no tile is compatible with that token " + token);
 				bagOfTokens.remove(token);
 				return true;
@@ -284,23 +286,17 @@ public record GameManager(List<Player> players, List<Tile> bagOfTiles, List<Anim
 	 */
 	private boolean tileRotationLoop(GameInterface gameInterface, Player player, Tile tile) {
 		if (!tile.supportsRotation()) return true;
-		while (true) {
-			var event =  gameInterface.context().pollOrWaitEvent(10);
-			if (event == null) continue;
-			switch (event) {
-			case PointerEvent e:
-				continue;
-			case KeyboardEvent e:
-				if (e.action() == KeyboardEvent.Action.KEY_PRESSED) {
-					if (e.key() == KeyboardEvent.Key.LEFT) {
-						tile.rotateCounterClockwise(); //rotation 
-						return false;
-					} else if (e.key() == KeyboardEvent.Key.RIGHT) {
-						tile.rotateClockwise(); 
-						return false;
-					} else if (e.key() == KeyboardEvent.Key.SPACE) {
-						return true;	}
-				}
-				break;
-			default:
-				break;		}}	}}
+		return InputDispatcher.awaitKey(gameInterface.renderLoop()::pollOrWaitEvent, key -> switch (key) {
+			case LEFT -> {
+				player.getBoard().rotateTileCounterClockwise(tile); //rotation 
+				yield false;
+			}
+			case RIGHT -> {
+				player.getBoard().rotateTileClockwise(tile); 
+				yield false;
+			}
+			case SPACE -> true;
+			default -> null;
+		});
+	}
+}
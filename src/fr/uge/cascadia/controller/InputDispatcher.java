@@ -0,0 +1,116 @@
+package fr.uge.cascadia.controller;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.github.forax.zen.Event;
+import com.github.forax.zen.KeyboardEvent;
+import com.github.forax.zen.PointerEvent;
+
+/**
+ * Waits for the events of the window that a question of the game is interested in.
+ *
+ * The calling thread sleeps in the event queue of the window until an event arrives, instead of
+ * waking up every few milliseconds : nothing runs while the player thinks. The handler decides which
+ * events answer the question ; the other ones are dropped and the thread goes back to sleep.
+ *
+ * @author massinissa
+ */
+final class InputDispatcher {
+
+	/**
+	 * Reads an event of the window.
+	 *
+	 * @param <T> the type of the answer.
+	 */
+	@FunctionalInterface
+	interface Handler<T> {
+		/**
+		 * Handles an event.
+		 *
+		 * @param event the event of the window.
+		 * @return the answer, or null to wait for the next event.
+		 */
+		T handle(Event event);
+	}
+
+	/**
+	 * Gives the events of the window : the context itself on the thread of the window,
+	 * or the {@link RenderLoop} that forwards them to the game thread.
+	 */
+	@FunctionalInterface
+	interface EventSource {
+		/**
+		 * Waits for an event.
+		 *
+		 * @param timeout the maximum time to wait in milliseconds.
+		 * @return the event, or null if none arrived in time.
+		 */
+		Event pollOrWaitEvent(long timeout);
+	}
+
+	/*
+	 * La file d'événements de zen n'attend pas indéfiniment : on se rendort à chaque expiration.
+	 */
+	private static final long WAIT = TimeUnit.HOURS.toMillis(1);
+
+	private InputDispatcher() {
+		// utility class
+	}
+
+	/**
+	 * Blocks until an event gives an answer.
+	 *
+	 * @param <T>     the type of the answer.
+	 * @param source  the events of the window.
+	 * @param handler reads each event, returns null to keep waiting.
+	 * @return the first answer of the handler.
+	 * @throws IllegalStateException if the thread is interrupted while waiting.
+	 */
+	static <T> T await(EventSource source, Handler<T> handler) {
+		Objects.requireNonNull(source);
+		Objects.requireNonNull(handler);
+		while (true) {
+			var event = source.pollOrWaitEvent(WAIT);
+			if (event == null) {
+				if (Thread.currentThread().isInterrupted()) {
+					throw new IllegalStateException("Input interrupted");
+				}
+				continue;
+			}
+			T answer = handler.handle(event);
+			if (answer != null) {
+				return answer;
+			}
+		}
+	}
+
+	/**
+	 * Blocks until a key is pressed that gives an answer.
+	 *
+	 * @param <T>     the type of the answer.
+	 * @param source  the events of the window.
+	 * @param choice  gives the answer of a key, or null to keep waiting.
+	 * @return the answer of the first key accepted.
+	 */
+	static <T> T awaitKey(EventSource source, Function<KeyboardEvent.Key, T> choice) {
+		Objects.requireNonNull(choice);
+		return await(source, event -> event instanceof KeyboardEvent ke && ke.action() == KeyboardEvent.Action.KEY_PRESSED
+				? choice.apply(ke.key()) : null);
+	}
+
+	/**
+	 * Blocks until a click gives an answer.
+	 *
+	 * @param <T>     the type of the answer.
+	 * @param source  the events of the window.
+	 * @param choice  gives the answer of a click location, or null to keep waiting.
+	 * @return the answer of the first click accepted.
+	 */
+	static <T> T awaitClick(EventSource source, Function<PointerEvent.Location, T> choice) {
+		Objects.requireNonNull(choice);
+		return await(source, event -> event instanceof PointerEvent pe && pe.action() == PointerEvent.Action.POINTER_DOWN
+				? choice.apply(pe.location()) : null);
+	}
+}
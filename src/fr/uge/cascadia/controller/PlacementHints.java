@@ -0,0 +1,97 @@
+package fr.uge.cascadia.controller;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fr.uge.cascadia.Player;
+import fr.uge.cascadia.Position;
+import fr.uge.cascadia.animal.AnimalToken;
+import fr.uge.cascadia.board.Board;
+import fr.uge.cascadia.score.PlacementEvaluator;
+import fr.uge.cascadia.score.ScoringStrategy;
+import fr.uge.cascadia.tile.Tile;
+
+/**
+ * Computes in the background the gain of the tile being placed at each free cell,
+ * and publishes it in the frames of the {@link RenderLoop}.
+ *
+ * The game thread copies the board and the tile, the copies are evaluated by {@link PlacementEvaluator}
+ * on another thread : neither the game nor the render thread waits for the result.
+ * A new selection cancels the evaluation of the previous one, and a result that arrives
+ * after its selection changed is dropped.
+ *
+ * @author massinissa
+ */
+public final class PlacementHints {
+
+	private final RenderLoop renderLoop;
+	private final ScoringStrategy scoringStrategy;
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("cascadia-hints").factory());
+
+	/**
+	 * Number of the current selection, a result is only published for its own selection.
+	 */
+	private final AtomicLong selection = new AtomicLong();
+	private Future<?> pending;
+
+	/**
+	 * Creates the hints of a game.
+	 *
+	 * @param renderLoop      the loop drawing the frames.
+	 * @param scoringStrategy the scoring strategy of the game.
+	 */
+	public PlacementHints(RenderLoop renderLoop, ScoringStrategy scoringStrategy) {
+		this.renderLoop = Objects.requireNonNull(renderLoop);
+		this.scoringStrategy = Objects.requireNonNull(scoringStrategy);
+	}
+
+	/**
+	 * Starts the evaluation of a selected tile, in place of the previous one. Called on the game thread.
+	 *
+	 * @param player the player placing the tile.
+	 * @param tile   the selected tile.
+	 * @param token  the token placed after the tile, or null if it is not chosen yet.
+	 */
+	public void show(Player player, Tile tile, AnimalToken token) {
+		Objects.requireNonNull(player);
+		Objects.requireNonNull(tile);
+		long id = cancel();
+		// copiés ici : le plateau et la tuile changent dès que le joueur a cliqué
+		Board board = player.getBoard().copy();
+		Tile selected = tile.copy();
+		pending = executor.submit(() -> {
+			Map<Position, Integer> gains;
+			try {
+				gains = PlacementEvaluator.evaluate(board, selected, token, scoringStrategy);
+			} catch (CancellationException e) {
+				return; // une autre tuile est sélectionnée
+			} catch (RuntimeException e) {
+				System.err.println("Placement hints failed : " + e);
+				return;
+			}
+			renderLoop.update(frame -> selection.get() == id ? frame.withHints(gains) : frame);
+		});
+	}
+
+	/**
+	 * Cancels the evaluation in progress and hides the hints. Called on the game thread.
+	 */
+	public void clear() {
+		cancel();
+	}
+
+	private long cancel() {
+		if (pending != null) {
+			pending.cancel(true);
+			pending = null;
+		}
+		long id = selection.incrementAndGet();
+		renderLoop.update(frame -> frame.hints().isEmpty() ? frame : frame.withHints(Map.of()));
+		return id;
+	}
+}
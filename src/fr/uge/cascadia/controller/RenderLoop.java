@@ -0,0 +1,321 @@
+package fr.uge.cascadia.controller;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import com.github.forax.zen.ApplicationContext;
+import com.github.forax.zen.Event;
+import com.github.forax.zen.KeyboardEvent;
+import com.github.forax.zen.PointerEvent;
+
+import fr.uge.cascadia.view.FrameMetrics;
+import fr.uge.cascadia.view.FrameSnapshot;
+import fr.uge.cascadia.view.GameView;
+
+/**
+ * Runs the game on its own thread while the thread of the window draws the frames.
+ *
+ * The game thread changes the model and publishes a {@link FrameSnapshot} after each change ;
+ * the window thread draws the latest snapshot at a fixed frame rate, without lock, and forwards
+ * the events of the window to the game thread. Zen only accepts drawing and reading events
+ * from the thread of the window, so the game logic is the one moved to another thread.
+ *
+ * The loop records its frames in a {@link FrameMetrics}. The key H shows or hides these metrics
+ * over the frame, refreshed a few times per second even when the game publishes nothing.
+ * Each pointer event is stamped when the window thread reads it ; the game thread puts the stamp
+ * on the first new frame it publishes after taking the event, and the latency is recorded when
+ * this frame is drawn. An event followed by no new frame is not measured.
+ *
+ * @author massinissa
+ */
+public final class RenderLoop {
+
+	/**
+	 * Frames per second.
+	 */
+	static final int FRAME_RATE = 60;
+
+	private static final long FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / FRAME_RATE;
+
+	/**
+	 * Time between two frames when only the metrics change.
+	 */
+	private static final long METRICS_REFRESH_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+	private final ApplicationContext context;
+	private final GameView view;
+	private final FrameMetrics metrics;
+	private final AtomicReference<FrameSnapshot> latest = new AtomicReference<>();
+
+	/*
+	 * Ce que la file transmet au jeu : un événement, ou la place d'une suite de déplacements du pointeur.
+	 */
+	private sealed interface Queued permits Input, Moves {}
+
+	/*
+	 * Un événement transmis au jeu, avec l'instant où la fenêtre l'a lu (0 si sa latence n'est pas mesurée).
+	 */
+	private record Input(Event event, long time) implements Queued {}
+
+	/*
+	 * Les déplacements qui se suivent n'occupent qu'une place : seul le dernier est gardé, le jeu le vide en le lisant.
+	 */
+	private record Moves(AtomicReference<Input> latest) implements Queued {}
+
+	/*
+	 * Même capacité que la file de zen. Les déplacements sont regroupés et les autres événements attendent
+	 * une place : un clic ou une touche n'est jamais perdu, même quand le jeu calcule longtemps.
+	 */
+	private final BlockingQueue<Queued> events = new ArrayBlockingQueue<>(1024);
+
+	/**
+	 * Place of the moves received since the last other event, only used by the thread of the window.
+	 */
+	private Moves moves;
+
+	/*
+	 * Instant du dernier événement pris par le jeu qui n'a pas encore produit d'image, 0 si aucun.
+	 */
+	private final AtomicLong pendingInput = new AtomicLong();
+
+	/*
+	 * Seul le thread du jeu place les instants des événements sur les images :
+	 * les indications calculées en arrière-plan ne répondent pas à un événement.
+	 */
+	private volatile Thread gameThread;
+
+	/**
+	 * True if the metrics are drawn, only used by the thread of the window.
+	 */
+	private boolean showMetrics;
+
+	/**
+	 * Creates the render loop of a window.
+	 *
+	 * @param context the context of the window.
+	 * @param view    the view drawing the frames.
+	 * @param metrics the registry receiving the times of the frames and of the inputs.
+	 */
+	public RenderLoop(ApplicationContext context, GameView view, FrameMetrics metrics) {
+		this.context = Objects.requireNonNull(context);
+		this.view = Objects.requireNonNull(view);
+		this.metrics = Objects.requireNonNull(metrics);
+	}
+
+	/**
+	 * Gets the context of the window, to be used on its thread only.
+	 *
+	 * @return the context of the window.
+	 */
+	public ApplicationContext context() {
+		return context;
+	}
+
+	/**
+	 * Gets the latest frame published.
+	 *
+	 * @return the latest frame, or null if nothing was published yet.
+	 */
+	public FrameSnapshot frame() {
+		return latest.get();
+	}
+
+	/**
+	 * Publishes a new frame, drawn at the next tick of the loop.
+	 * The frame shows the last pointer event taken by the game thread, if it is not shown yet.
+	 *
+	 * @param frame the frame.
+	 */
+	public void publish(FrameSnapshot frame) {
+		Objects.requireNonNull(frame);
+		long input = takeInput();
+		latest.set(input == 0 ? frame : frame.withInputTime(input));
+		metrics.recordDraw();
+	}
+
+	/**
+	 * Publishes a change of the latest frame. Does nothing before the first frame.
+	 * A change which returns the same frame drops the last pointer event taken by the game thread.
+	 *
+	 * @param update computes the new frame from the latest one.
+	 */
+	public void update(UnaryOperator<FrameSnapshot> update) {
+		Objects.requireNonNull(update);
+		long input = takeInput();
+		latest.updateAndGet(frame -> {
+			if (frame == null) return null;
+			var next = update.apply(frame);
+			return next == frame || input == 0 ? next : next.withInputTime(input);
+		});
+	}
+
+	private long takeInput() {
+		return Thread.currentThread() == gameThread ? pendingInput.getAndSet(0) : 0;
+	}
+
+	/**
+	 * Waits for an event of the window, on the game thread.
+	 *
+	 * @param timeout the maximum time to wait in milliseconds.
+	 * @return the event, or null if none arrived in time or if the thread is interrupted.
+	 */
+	public Event pollOrWaitEvent(long timeout) {
+		try {
+			Input input = switch (events.poll(timeout, TimeUnit.MILLISECONDS)) {
+			case null -> null;
+			case Input event -> event;
+			case Moves group -> group.latest().getAndSet(null); // la fenêtre ne modifie plus ce groupe
+			};
+			if (input == null) {
+				return null;
+			}
+			pendingInput.set(input.time()); // l'événement précédent n'a produit aucune image : il est oublié
+			return input.event();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * Runs the game on a new thread and draws its frames on the calling thread, the thread of the window,
+	 * until the game ends.
+	 *
+	 * @param game the game logic.
+	 * @throws RuntimeException the exception thrown by the game, if any.
+	 */
+	public void run(Runnable game) {
+		Objects.requireNonNull(game);
+		var done = new CompletableFuture<Void>();
+		gameThread = Thread.ofPlatform().name("cascadia-game").unstarted(() -> {
+			try {
+				game.run();
+				done.complete(null);
+			} catch (Throwable e) {
+				done.completeExceptionally(e);
+			}
+		});
+		gameThread.start();
+		FrameSnapshot drawn = null;
+		long measuredInput = 0;
+		long nextFrame = System.nanoTime();
+		long lastFrame = nextFrame;
+		while (!done.isDone()) {
+			long wait = TimeUnit.NANOSECONDS.toMillis(nextFrame - System.nanoTime());
+			if (wait > 0) {
+				var event = context.pollOrWaitEvent(wait);
+				if (event instanceof KeyboardEvent ke && ke.key() == KeyboardEvent.Key.H) {
+					if (ke.action() == KeyboardEvent.Action.KEY_PRESSED) {
+						toggleMetrics();
+						drawn = null; // redessine tout de suite
+					}
+					continue; // la touche reste à la boucle : le jeu ne la voit pas
+				}
+				if (event != null) {
+					forward(new Input(event, event instanceof PointerEvent ? stamp(System.nanoTime()) : 0), done);
+					continue;
+				}
+				if (Thread.currentThread().isInterrupted()) {
+					throw new IllegalStateException("Render loop interrupted");
+				}
+				continue;
+			}
+			// une image par période même si les événements arrivent sans arrêt
+			nextFrame = Math.max(nextFrame + FRAME_NANOS, System.nanoTime()); // pas de rattrapage après un retard
+			FrameSnapshot frame = latest.get();
+			long start = System.nanoTime();
+			if (frame != null && (frame != drawn || showMetrics && start - lastFrame >= METRICS_REFRESH_NANOS)) {
+				var screenInfo = context.getScreenInfo();
+				FrameMetrics.Summary summary = showMetrics ? metrics.summary() : null;
+				context.renderFrame(graphics -> {
+					view.drawFrame(graphics, frame, screenInfo.width(), screenInfo.height());
+					if (summary != null) {
+						view.drawMetrics(graphics, summary, screenInfo.width(), screenInfo.height());
+					}
+				});
+				lastFrame = System.nanoTime();
+				metrics.recordFrame(start, lastFrame);
+				// les copies d'une image gardent son instant : l'événement n'est mesuré qu'une fois
+				if (frame.inputTime() != 0 && frame.inputTime() != measuredInput) {
+					metrics.recordInputLatency(lastFrame - frame.inputTime());
+					measuredInput = frame.inputTime();
+				}
+				drawn = frame;
+			}
+		}
+		try {
+			done.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Render loop interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/*
+	 * Un déplacement remplace le précédent s'il n'est pas encore lu par le jeu, les autres événements
+	 * ferment le groupe de déplacements : l'ordre des événements est gardé.
+	 */
+	private void forward(Input input, CompletableFuture<Void> done) {
+		if (input.event() instanceof PointerEvent pe && pe.action() == PointerEvent.Action.POINTER_MOVE) {
+			if (moves != null) {
+				Input previous = moves.latest().get();
+				if (previous != null && moves.latest().compareAndSet(previous, input)) {
+					return;
+				}
+			}
+			moves = new Moves(new AtomicReference<>(input));
+			enqueue(moves, done);
+			return;
+		}
+		moves = null;
+		enqueue(input, done);
+	}
+
+	/*
+	 * Attend une place tant que le jeu tourne : une fois la partie finie, plus personne ne lit la file.
+	 */
+	private void enqueue(Queued queued, CompletableFuture<Void> done) {
+		try {
+			while (!events.offer(queued, FRAME_NANOS, TimeUnit.NANOSECONDS)) {
+				if (done.isDone()) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Render loop interrupted", e);
+		}
+	}
+
+	/*
+	 * 0 veut dire aucun événement mesuré.
+	 */
+	private static long stamp(long time) {
+		return time == 0 ? 1 : time;
+	}
+
+	/*
+	 * Chaque affichage des mesures en commence une nouvelle.
+	 */
+	private void toggleMetrics() {
+		showMetrics = !showMetrics;
+		if (showMetrics) {
+			metrics.reset();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package fr.uge.cascadia.controller;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Reads the answers of a game from a script instead of the console, to play games without a player.
+ *
+ * Each line of the script is the answer to one question, in the order the game asks them :
+ * the prompts are not printed. A line starting with {@code #} is a comment, an empty line is
+ * an empty answer (no nature token). The game stops with an {@link IllegalStateException}
+ * when the script ends before it.
+ *
+ * @author massinissa
+ */
+public final class ScriptedInput implements TerminalInput, Closeable {
+
+	private final BufferedReader reader;
+
+	/**
+	 * Number of the last line read, 0 before the first one.
+	 */
+	private int lineNumber;
+
+	/**
+	 * Creates an input reading the answers of a reader.
+	 *
+	 * @param reader the script.
+	 */
+	public ScriptedInput(BufferedReader reader) {
+		this.reader = Objects.requireNonNull(reader);
+	}
+
+	/**
+	 * Opens a script.
+	 *
+	 * @param script the path of the script, or null to read the standard input.
+	 * @return the input reading the script.
+	 * @throws UncheckedIOException if the file can not be opened.
+	 */
+	public static ScriptedInput open(Path script) {
+		if (script == null) {
+			return new ScriptedInput(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+		}
+		try {
+			return new ScriptedInput(Files.newBufferedReader(script, StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Impossible d'ouvrir le script " + script, e);
+		}
+	}
+
+	/**
+	 * Reads the next answer of the script.
+	 *
+	 * @param prompt the question, only used in the error message.
+	 * @return the next line which is not a comment, without its surrounding spaces.
+	 * @throws IllegalStateException if the script has no more lines.
+	 */
+	@Override
+	public String readln(String prompt) {
+		Objects.requireNonNull(prompt);
+		try {
+			String line;
+			do {
+				line = reader.readLine();
+				if (line == null) {
+					throw new IllegalStateException("Fin du script après la ligne " + lineNumber + ", réponse attendue : " + prompt.strip());
+				}
+				lineNumber++;
+				line = line.strip();
+			} while (line.startsWith("#"));
+			return line;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Gets the number of the last line read, to find the answer that stopped a game.
+	 *
+	 * @return the number of the last line read, from 1, or 0 before the first one.
+	 */
+	public int lineNumber() {
+		return lineNumber;
+	}
+
+	@Override
+	public void close() {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package fr.uge.cascadia.controller;
+
+import java.io.IO;
+
+/**
+ * The source of the answers read by the terminal controller.
+ *
+ * @author massinissa
+ */
+@FunctionalInterface
+public interface TerminalInput {
+
+	/**
+	 * Reads the answer to a question.
+	 *
+	 * @param prompt the question asked to the player.
+	 * @return the answer, without its line terminator.
+	 */
+	String readln(String prompt);
+
+	/**
+	 * Gets the input of a player typing in the console.
+	 *
+	 * @return the input reading the console after printing the prompt.
+	 */
+	static TerminalInput console() {
+		return IO::readln;
+	}
+}
@@ -0,0 +1,447 @@
+package fr.uge.cascadia.controller;
+
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import fr.uge.cascadia.Player;
+import fr.uge.cascadia.animal.AnimalToken;
+import fr.uge.cascadia.board.Board;
+import fr.uge.cascadia.board.Shelf;
+import fr.uge.cascadia.tile.Tile;
+import fr.uge.cascadia.tile.TileType;
+
+/**
+ * Draws the board and the shelf of the terminal game.
+ *
+ * With an ANSI terminal, the frame stays at the top of the screen and the questions scroll below it :
+ * the renderer keeps the characters of the previous frame and only sends the cells that changed,
+ * with cursor moves. The whole frame is built in memory and written in one call, so a slow link
+ * receives a few bytes per turn instead of the whole board. Without ANSI, each frame is printed
+ * after the previous one, also in one call.
+ *
+ * The frame is only kept at the top when it fits in the terminal with a line left for the questions :
+ * otherwise the cursor moves would land on wrapped or scrolled lines, so the whole frame is printed
+ * like without ANSI until the terminal is large enough again. A square board starts at 5x5 tiles,
+ * about 57 lines with the shelf : the changes are only sent to a terminal that large, a standard 80x24
+ * terminal always receives the whole frame. The size is read when the renderer is created and again in
+ * the background after a frame too large, never while drawing.
+ *
+ * @author massinissa
+ */
+public final class TerminalRenderer {
+
+	private static final String ESC = "\u001b[";
+
+	/**
+	 * Number of identical characters under which two changes are sent together :
+	 * a cursor move costs more than rewriting them.
+	 */
+	private static final int MERGE_GAP = 8;
+
+	/**
+	 * Lines of a square tile (see {@link Tile#printTuileNull()}).
+	 */
+	private static final int TILE_LINES = 6;
+
+	private static final String[] EMPTY_CELL = Tile.printTuileNull().split("\n");
+
+
+	/**
+	 * Number of tile texts kept : the boards of four players, the tiles replaced by their token are evicted first.
+	 */
+	private static final int MAX_GLYPHS = 128;
+
+	/**
+	 * Time given to {@code stty} to answer before the size is considered unknown.
+	 */
+	private static final long STTY_TIMEOUT_MILLIS = 1000;
+
+	/**
+	 * The size of a terminal, in characters.
+	 *
+	 * @param rows    the number of lines.
+	 * @param columns the number of characters of a line.
+	 */
+	public record Size(int rows, int columns) {
+
+		/**
+		 * Creates a size.
+		 */
+		public Size {
+			if (rows <= 0 || columns <= 0) {
+				throw new IllegalArgumentException("Taille de terminal invalide : " + rows + "x" + columns);
+			}
+		}
+
+		/**
+		 * Reads the size of the terminal of the program, with {@code stty size} or else
+		 * the variables {@code LINES} and {@code COLUMNS}.
+		 *
+		 * @return the size, or null if it is unknown.
+		 */
+		public static Size current() {
+			Size size = fromStty();
+			return size != null ? size : fromEnvironment();
+		}
+
+		private static Size fromStty() {
+			try {
+				Process process = new ProcessBuilder("stty", "size")
+						.redirectInput(ProcessBuilder.Redirect.from(new File("/dev/tty")))
+						.redirectError(ProcessBuilder.Redirect.DISCARD)
+						.start();
+				// la réponse tient dans le tampon du tube : on peut attendre la fin avant de la lire
+				if (!process.waitFor(STTY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+					process.destroyForcibly();
+					return null;
+				}
+				if (process.exitValue() != 0) {
+					return null;
+				}
+				String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).strip();
+				String[] values = output.split(" ");
+				return values.length == 2 ? parse(values[0], values[1]) : null;
+			} catch (IOException e) {
+				return null; // pas de stty ni de terminal
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+
+		private static Size fromEnvironment() {
+			return parse(System.getenv("LINES"), System.getenv("COLUMNS"));
+		}
+
+		private static Size parse(String rows, String columns) {
+			if (rows == null || columns == null) {
+				return null;
+			}
+			try {
+				return new Size(Integer.parseInt(rows.strip()), Integer.parseInt(columns.strip()));
+			} catch (IllegalArgumentException e) { // NumberFormatException ou taille nulle
+				return null;
+			}
+		}
+	}
+
+	/*
+	 * Le texte d'une tuile ne change qu'avec son jeton : il n'est découpé qu'une fois.
+	 */
+	private record Glyph(Tile tile, AnimalToken token) {
+	}
+
+	private final WritableByteChannel out;
+	private final boolean ansi;
+	private final Supplier<Size> terminalSize;
+
+	/**
+	 * Size of the terminal read by the last refresh, null if it is unknown.
+	 */
+	private volatile Size size;
+
+	/**
+	 * True while a refresh of the size runs in the background.
+	 */
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	/*
+	 * Les textes les moins récemment dessinés sont oubliés en premier.
+	 */
+	private final Map<Glyph, String[]> glyphs = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Glyph, String[]> eldest) {
+			return size() > MAX_GLYPHS;
+		}
+	};
+
+	/**
+	 * Lines shown on the screen, null before the first frame.
+	 */
+	private char[][] screen;
+
+	/**
+	 * Creates a renderer reading the size of the terminal of the program.
+	 *
+	 * @param out  the channel of the terminal.
+	 * @param ansi true to redraw only the changes with ANSI sequences, false to print every frame.
+	 */
+	public TerminalRenderer(WritableByteChannel out, boolean ansi) {
+		this(out, ansi, Size::current);
+	}
+
+	/**
+	 * Creates a renderer.
+	 *
+	 * @param out          the channel of the terminal.
+	 * @param ansi         true to redraw only the changes with ANSI sequences, false to print every frame.
+	 * @param terminalSize reads the size of the terminal, or gives null if it is unknown.
+	 *                     It is read when the renderer is created and when the size is refreshed, never while drawing.
+	 */
+	public TerminalRenderer(WritableByteChannel out, boolean ansi, Supplier<Size> terminalSize) {
+		this.out = Objects.requireNonNull(out);
+		this.ansi = ansi;
+		this.terminalSize = Objects.requireNonNull(terminalSize);
+		if (ansi) {
+			size = terminalSize.get();
+		}
+	}
+
+	/**
+	 * Reads the size of the terminal again, for instance after the terminal was resized.
+	 * The next frame is kept at the top or printed in full according to the new size.
+	 */
+	public void refreshSize() {
+		if (ansi) {
+			size = terminalSize.get();
+		}
+	}
+
+	/*
+	 * Après un cadre trop grand, la taille est relue en arrière-plan : le terminal a peut-être été agrandi.
+	 * Le cadre suivant utilise la nouvelle taille si elle est déjà connue.
+	 */
+	private void refreshSizeLater() {
+		if (!refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		Thread.ofVirtual().name("terminal-size").start(() -> {
+			try {
+				size = terminalSize.get();
+			} finally {
+				refreshing.set(false);
+			}
+		});
+	}
+
+	/**
+	 * Creates a renderer on the standard output, with ANSI sequences if it is a terminal.
+	 *
+	 * @return the renderer.
+	 */
+	public static TerminalRenderer standardOutput() {
+		String term = System.getenv("TERM");
+		boolean ansi = System.console() != null && term != null && !term.equals("dumb");
+		return new TerminalRenderer(new FileOutputStream(FileDescriptor.out).getChannel(), ansi);
+	}
+
+	/**
+	 * Draws the board of a player and the shelf.
+	 *
+	 * @param shelf  the shelf.
+	 * @param player the player.
+	 */
+	public void draw(Shelf shelf, Player player) {
+		Objects.requireNonNull(shelf);
+		Objects.requireNonNull(player);
+		List<String> lines = new ArrayList<>();
+		lines.add("plateau du joueur : " + player.getName());
+		String shelfText = shelf.toString();
+		boolean complete = !shelfText.isEmpty();
+		if (complete) {
+			boardLines(player.getBoard(), lines);
+			lines.addAll(Arrays.asList(shelfText.split("\n")));
+		} else if (ansi) {
+			// pendant le tour, le cadre garde le plateau et les emplacements vides de l'étal : sa hauteur ne change pas
+			boardLines(player.getBoard(), lines);
+			shelfLines(shelf, lines);
+		}
+		lines.add("");
+		boolean pinned = ansi && fits(lines);
+		if (!complete && !pinned) {
+			lines.subList(1, lines.size() - 1).clear(); // imprimé en entier : seulement le titre, comme sans ANSI
+		}
+		render(lines, pinned);
+	}
+
+	/**
+	 * Gives back the whole screen to the text printed after the game.
+	 */
+	public void close() {
+		if (ansi && screen != null) {
+			write(ESC + "r" + ESC + "999;1H\n"); // la ligne se place en bas de l'écran
+			screen = null;
+		}
+	}
+
+	/*
+	 * Mêmes lignes que Board.displayBoard : une tuile fait six lignes, suivie d'une espace.
+	 */
+	private void boardLines(Board board, List<String> lines) {
+		if (board.getType() == TileType.Hexagonal) return;
+		for (List<Tile> row : board.getGrid()) {
+			StringBuilder[] rowLines = new StringBuilder[TILE_LINES];
+			for (int l = 0; l < TILE_LINES; l++) {
+				rowLines[l] = new StringBuilder();
+			}
+			for (Tile tile : row) {
+				String[] tileLines = tile == null ? EMPTY_CELL : glyphOf(tile);
+				for (int l = 0; l < TILE_LINES; l++) {
+					rowLines[l].append(tileLines[l]).append(' ');
+				}
+			}
+			for (StringBuilder line : rowLines) {
+				lines.add(line.toString());
+			}
+		}
+	}
+
+	/*
+	 * Mêmes lignes que Shelf.toString, avec une tuile vide pour un emplacement déjà pris.
+	 */
+	private static void shelfLines(Shelf shelf, List<String> lines) {
+		List<Tile> tiles = shelf.getTiles();
+		List<AnimalToken> tokens = shelf.getTokens();
+		for (int id = 0; id < tiles.size(); id++) {
+			String tile = tiles.get(id) == null ? Tile.printTuileNull() : tiles.get(id).toString();
+			String token = tokens.get(id) == null ? "token : Vide" : tokens.get(id).toString();
+			lines.addAll(Arrays.asList(("ID: " + id + "       Tile: " + tile + "       Token: " + token).split("\n")));
+		}
+	}
+
+	private String[] glyphOf(Tile tile) {
+		return glyphs.computeIfAbsent(new Glyph(tile, tile.getAssignedAnimalToken()), glyph -> glyph.tile().toString().split("\n"));
+	}
+
+	/**
+	 * Shows a frame : the lines that changed since the previous frame, or the whole frame for the first one.
+	 * A frame larger than the terminal is printed after the previous one, without keeping it at the top.
+	 *
+	 * @param lines the lines of the frame.
+	 */
+	void render(List<String> lines) {
+		Objects.requireNonNull(lines);
+		render(lines, ansi && fits(lines));
+	}
+
+	private void render(List<String> lines, boolean pinned) {
+		char[][] next = new char[lines.size()][];
+		for (int i = 0; i < next.length; i++) {
+			next[i] = lines.get(i).toCharArray();
+		}
+		var text = new StringBuilder();
+		if (!pinned) {
+			if (ansi && screen != null) {
+				text.append(ESC).append('r').append(ESC).append("999;1H\n"); // tout l'écran défile de nouveau
+			}
+			for (char[] line : next) {
+				text.append(line).append('\n');
+			}
+			next = null; // le prochain cadre est redessiné en entier
+			if (ansi) {
+				refreshSizeLater();
+			}
+		} else if (screen == null) {
+			// le cadre reste en haut : les questions défilent sous lui
+			text.append(ESC).append('r').append(ESC).append("2J");
+			for (int row = 0; row < next.length; row++) {
+				text.append(ESC).append(row + 1).append(";1H").append(next[row]);
+			}
+			text.append(ESC).append(next.length + 1).append('r');
+			text.append(ESC).append(next.length + 1).append(";1H");
+		} else if (screen.length != next.length) {
+			// le plateau a grandi : les lignes communes sont comparées, les autres remplacent les questions affichées dessous
+			int common = Math.min(screen.length, next.length);
+			for (int row = 0; row < common; row++) {
+				diffLine(row, screen[row], next[row], text);
+			}
+			for (int row = common; row < next.length; row++) {
+				text.append(ESC).append(row + 1).append(";1H").append(ESC).append("2K").append(next[row]);
+			}
+			// la zone des questions se déplace sous le cadre, les lignes d'un cadre plus haut sont effacées
+			text.append(ESC).append(next.length + 1).append('r');
+			text.append(ESC).append(next.length + 1).append(";1H").append(ESC).append('J');
+		} else {
+			var changes = new StringBuilder();
+			for (int row = 0; row < next.length; row++) {
+				diffLine(row, screen[row], next[row], changes);
+			}
+			if (!changes.isEmpty()) {
+				text.append("\u001b7").append(changes).append("\u001b8"); // le curseur revient sous le cadre
+			}
+		}
+		screen = next;
+		if (!text.isEmpty()) {
+			write(text.toString());
+		}
+	}
+
+	/*
+	 * Le cadre et une ligne de question doivent tenir : une ligne repliée ou un défilement décale les déplacements du curseur.
+	 * La taille est celle de la dernière lecture, jamais relue pendant le dessin.
+	 */
+	private boolean fits(List<String> frame) {
+		Size size = this.size;
+		if (size == null || frame.size() + 1 > size.rows()) {
+			return false;
+		}
+		for (String line : frame) {
+			if (line.length() > size.columns()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Envoie les morceaux de la ligne qui ont changé ; une ligne plus courte efface la fin de l'ancienne.
+	 */
+	private static void diffLine(int row, char[] before, char[] after, StringBuilder changes) {
+		int width = Math.max(before.length, after.length);
+		int col = 0;
+		while (col < width) {
+			if (charAt(before, col) == charAt(after, col)) {
+				col++;
+				continue;
+			}
+			int start = col;
+			int end = col + 1; // fin exclue du morceau
+			int same = 0;
+			for (col++; col < width && same < MERGE_GAP; col++) {
+				if (charAt(before, col) == charAt(after, col)) {
+					same++;
+				} else {
+					same = 0;
+					end = col + 1;
+				}
+			}
+			col = end;
+			changes.append(ESC).append(row + 1).append(';').append(start + 1).append('H');
+			for (int i = start; i < end; i++) {
+				changes.append(charAt(after, i));
+			}
+		}
+	}
+
+	private static char charAt(char[] line, int col) {
+		return col < line.length ? line[col] : ' ';
+	}
+
+	private void write(String text) {
+		System.out.flush(); // les questions déjà affichées passent avant le cadre
+		ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(text));
+		try {
+			while (buffer.hasRemaining()) {
+				out.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -50,29 +50,29 @@ public  record  BuzzardScoring(CardType cardType) implements  ScoringCard {
 
 
 
+	/**
+	 * The card D counts the animals between the buzzards.
+	 *
+	 * @return true for the card D.
+	 */
+	@Override
+	public boolean readsOtherAnimals() {
+		return cardType == CardType.D;
+	}
+
 	private int calculateIsolatedBuzzardsScoreA(Board board) {
 		int score = 0;
 		int nbBuzzardIzolated = 0;
-		var grid = board.getGrid();
-		boolean[][] visited = new boolean[grid.size()][];
-		for (int i = 0; i < grid.size(); i++) {
-			visited[i] = new boolean[grid.get(i).size()];
-		}
-		for (int y = 0; y < grid.size(); y++) {
-			for (int x = 0; x < grid.get(y).size(); x++) {
-				Tile tile = grid.get(y).get(x);
-				if (!visited[y][x] && tile != null && tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == Animal.Buzzard) {
-					if (isIsolatedBuzzard(x, y, visited, board)) {
-						nbBuzzardIzolated += 1;
-					}
-				}
+		for (Position buzzard : board.getAnimalPositions(Animal.Buzzard)) {
+			if (isIsolatedBuzzard(buzzard.x(), buzzard.y(), board)) {
+				nbBuzzardIzolated += 1;
 			}
 		}
 		score = assignGroupBuzzardPointsA(nbBuzzardIzolated);
 		return score;}
 
 
-	private boolean isIsolatedBuzzard(int x, int y, boolean[][] visited, Board board) {
+	private boolean isIsolatedBuzzard(int x, int y, Board board) {
 		Position point = new Position(x,y) ;
 		var grid = board.getGrid();
 		var neighbors = board.getNeighbors(point);
@@ -102,18 +102,9 @@ public  record  BuzzardScoring(CardType cardType) implements  ScoringCard {
 	private int calculateLineOfSightScoreB(Board board) {
 		int score = 0;
 		int nbBuzzardIzolated = 0;
-		var grid = board.getGrid();
-		boolean[][] visited = new boolean[grid.size()][];
-		for (int i = 0; i < grid.size(); i++) {
-			visited[i] = new boolean[grid.get(i).size()];}
-		for (int y = 0; y < grid.size(); y++) {
-			for (int x = 0; x < grid.get(y).size(); x++) {
-				Tile tile = grid.get(y).get(x);
-				if (!visited[y][x] && tile != null && tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == Animal.Buzzard) {
-					if (hasNeighborInLineOfSight(x, y, board)) {
-						nbBuzzardIzolated += 1; // Chaque buse avec au moins une voisine rapporte 3 points
-					}
-				}
+		for (Position buzzard : board.getAnimalPositions(Animal.Buzzard)) {
+			if (hasNeighborInLineOfSight(buzzard.x(), buzzard.y(), board)) {
+				nbBuzzardIzolated += 1; // Chaque buse avec au moins une voisine rapporte 3 points
 			}
 		}
 		score = assignGroupBuzzardPointsB(nbBuzzardIzolated);
@@ -163,13 +154,9 @@ public  record  BuzzardScoring(CardType cardType) implements  ScoringCard {
 			visited[i] = new boolean[grid.get(i).size()];
 		}
 
-		for (int y = 0; y < grid.size(); y++) {
-			for (int x = 0; x < grid.get(y).size(); x++) {
-				Tile tile = grid.get(y).get(x);
-				if (!visited[y][x] && tile != null && tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == Animal.Buzzard) {
-
-					score += countLinesOfSight(x, y, board, visited) * 3;
-				}
+		for (Position buzzard : board.getAnimalPositions(Animal.Buzzard)) {
+			if (!visited[buzzard.y()][buzzard.x()]) {
+				score += countLinesOfSight(buzzard.x(), buzzard.y(), board, visited) * 3;
 			}
 		}
 
@@ -208,13 +195,8 @@ public  record  BuzzardScoring(CardType cardType) implements  ScoringCard {
 		boolean[][] visited = new boolean[grid.size()][];
 		for (int i = 0; i < grid.size(); i++) {
 			visited[i] = new boolean[grid.get(i).size()];  }
-		for (int y = 0; y < grid.size(); y++) {
-			for (int x = 0; x < grid.get(y).size(); x++) {
-				Tile tile = grid.get(y).get(x);
-				if (tile != null && tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == Animal.Buzzard) {
-					nbAnimalDiversity += countPairsWithAnimalDiversity(x, y, board, visited);
-				}
-			}
+		for (Position buzzard : board.getAnimalPositions(Animal.Buzzard)) {
+			nbAnimalDiversity += countPairsWithAnimalDiversity(buzzard.x(), buzzard.y(), board, visited);
 		}
 		score = assignGroupBuzzardPointsD(nbAnimalDiversity);
 		return score;
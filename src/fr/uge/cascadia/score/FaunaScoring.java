@@ -74,6 +74,21 @@ public final class FaunaScoring implements ScoringStrategy {
     }
     
     
+    /**
+     * Tells if the card of an animal reads the tokens of the other animals.
+     * An animal without card is considered as depending on the whole board.
+     *
+     * @param animal The animal.
+     * @return true if the score of the animal may change when any token is placed.
+     */
+    @Override
+    public boolean readsOtherAnimals(Animal animal) {
+        Objects.requireNonNull(animal, "L'animal ne peut pas être null.");
+        ScoringCard card = animalStrategies.get(animal);
+        return card == null || card.readsOtherAnimals();
+    }
+
+
     /**
      * Getter of all the cards used by animal 
      * @return Map of animal , card 
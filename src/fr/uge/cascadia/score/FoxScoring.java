@@ -55,15 +55,20 @@ public record  FoxScoring (CardType cardType) implements ScoringCard  {
 
 
 
+	/**
+	 * Every fox card counts the animals around the foxes.
+	 *
+	 * @return true.
+	 */
+	@Override
+	public boolean readsOtherAnimals() {
+		return true;
+	}
+
 	private int calculateIndividualScore(Board board) {
 		int score = 0;
-		for (int y = 0; y < board.getGrid().size(); y++) {
-			for (int x = 0; x < board.getGrid().get(y).size(); x++) {
-				Tile tile = board.getGrid().get(y).get(x);
-				if (tile != null && tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == Animal.Fox) {
-					score += countAdjacentSpecies(new Position(x, y), board);
-				}
-			}
+		for (Position fox : board.getAnimalPositions(Animal.Fox)) {
+			score += countAdjacentSpecies(fox, board);
 		}
 		return score;
 	}
@@ -94,13 +99,8 @@ public record  FoxScoring (CardType cardType) implements ScoringCard  {
 	private int calculatePairScore(Board board) {
 		int score = 0;
 		int nbPair = 0;
-		for (int y = 0; y < board.getGrid().size(); y++) {
-			for (int x = 0; x < board.getGrid().get(y).size(); x++) {
-				Tile tile = board.getGrid().get(y).get(x);
-				if (tile != null && tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == Animal.Fox) {
-					nbPair += countSpeciesPairs(new Position(x, y), board);
-				}
-			}
+		for (Position fox : board.getAnimalPositions(Animal.Fox)) {
+			nbPair += countSpeciesPairs(fox, board);
 		}
 		score = assignPairPoints(nbPair);
 		return score;
@@ -137,13 +137,8 @@ public record  FoxScoring (CardType cardType) implements ScoringCard  {
 	private int calculateDominantSpeciesScore(Board board) {
 		int score = 0;
 		//        int maxcount= 0;
-		for (int y = 0; y < board.getGrid().size(); y++) {
-			for (int x = 0; x < board.getGrid().get(y).size(); x++) {
-				Tile tile = board.getGrid().get(y).get(x);
-				if (tile != null && tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == Animal.Fox) {
-					score += countMostFrequentSpecies(new Position(x, y), board);
-				}
-			}
+		for (Position fox : board.getAnimalPositions(Animal.Fox)) {
+			score += countMostFrequentSpecies(fox, board);
 		}
 		return score;
 	}
@@ -174,19 +169,15 @@ public record  FoxScoring (CardType cardType) implements ScoringCard  {
 		int countPair = 0;
 		boolean[][] visited = new boolean[grid.size()][]; // Structure pour marquer les renards visités
 		for (int i = 0; i < grid.size(); i++) visited[i] = new boolean[grid.get(i).size()];
-		for (int y = 0; y < grid.size(); y++) {
-			for (int x = 0; x < grid.get(y).size(); x++) {
-				Tile tile = grid.get(y).get(x);
-				if (tile != null && tile.hasAnimalToken() && tile.getAssignedAnimalToken().animal() == Animal.Fox) {
-					Position fox1 = new Position(x, y);
-					for (Position neighbor : board.getNeighbors(fox1)) {
-						Tile neighborTile = grid.get(neighbor.x()).get(neighbor.y());
-						if (!visited[neighbor.y()][neighbor.x()] && neighborTile != null && neighborTile.hasAnimalToken() && neighborTile.getAssignedAnimalToken().animal() == Animal.Fox) {
-							Position fox2 = neighbor;
-							visited[y][x] = true;
-							visited[neighbor.y()][neighbor.x()] = true;
-							countPair += countSpeciesPairsAroundFoxes(fox1, fox2, board);
-							break;}					}				}			}		}
+		for (Position fox1 : board.getAnimalPositions(Animal.Fox)) {
+			for (Position neighbor : board.getNeighbors(fox1)) {
+				Tile neighborTile = grid.get(neighbor.x()).get(neighbor.y());
+				if (!visited[neighbor.y()][neighbor.x()] && neighborTile != null && neighborTile.hasAnimalToken() && neighborTile.getAssignedAnimalToken().animal() == Animal.Fox) {
+					Position fox2 = neighbor;
+					visited[fox1.y()][fox1.x()] = true;
+					visited[neighbor.y()][neighbor.x()] = true;
+					countPair += countSpeciesPairsAroundFoxes(fox1, fox2, board);
+					break;}					}		}
 		score = assignPairPointsD(countPair);
 		return score;	} 
 
@@ -1,7 +1,5 @@
 package fr.uge.cascadia.score;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 import fr.uge.cascadia.board.Board;
@@ -29,30 +27,42 @@ public sealed interface HabitatAnalyzer permits HexagoHabitatAnalyzer, SquareHab
 	public int exploreSet(int row, int col, Habitat habitat, boolean[][] visited);
 
 
-
-
 	/**
 	 * Calculates the largest connected sets for all habitats on the given board.
 	 * This method is shared across implementations and does not depend on the board shape.
 	 *
 	 * @param board board to be analyzed
-	 * @return A map associating each habitat with its largest connected set size.
+	 * @return the largest connected set size of each habitat, indexed by {@code Habitat.ordinal()}.
 	 */
-	public default Map<Habitat, Integer> calculateHabitatScores(Board board) {
+	public default int[] calculateHabitatScores(Board board) {
 		Objects.requireNonNull(board); 
 
-		Map<Habitat, Integer> habitatScores = new HashMap<>();
-		int rows = board.getGrid().size();
-		int cols = board.getGrid().get(0).size();
+		int[] habitatScores = new int[Habitat.values().length];
 		for (Habitat habitat : Habitat.values()) {
-			boolean[][] visited = new boolean[rows][cols];
-			int largestSetSize = findLargestSet(board , habitat, visited);
-			habitatScores.put(habitat, largestSetSize);
+			habitatScores[habitat.ordinal()] = calculateHabitatScore(board, habitat);
 		}
 		return habitatScores;
 	}
 
 
+	/**
+	 * Calculates the largest connected set of one habitat on the given board.
+	 * Each habitat is independent from the others, so they can be computed in parallel.
+	 *
+	 * @param board   board to be analyzed
+	 * @param habitat the habitat
+	 * @return the size of the largest connected set of this habitat.
+	 */
+	public default int calculateHabitatScore(Board board, Habitat habitat) {
+		Objects.requireNonNull(board); 
+		Objects.requireNonNull(habitat); 
+		int rows = board.getGrid().size();
+		int cols = board.getGrid().get(0).size();
+		boolean[][] visited = new boolean[rows][cols];
+		return findLargestSet(board , habitat, visited);
+	}
+
+
 
 
 	private int findLargestSet(Board board , Habitat habitat, boolean[][] visited) {
@@ -64,6 +64,7 @@ public record HexagoHabitatAnalyzer(Board board) implements HabitatAnalyzer {
 	/**
 	 * Checks if two habitats are adjacent to each other on the board.
 	 * The adjacency can occur either within the same tile or between neighboring tiles.
+	 * The board keeps the contacts between habitats up to date, so this is a single lookup.
 	 *
 	 * @param board    Board we searching in
 	 * @param habitat1 the first habitat
@@ -74,25 +75,8 @@ public record HexagoHabitatAnalyzer(Board board) implements HabitatAnalyzer {
 		Objects.requireNonNull(board); 
 		Objects.requireNonNull(habitat1); 
 		Objects.requireNonNull(habitat2); 
-		var grid = board.getGrid();
-		for (int row = 0; row < grid.size(); row++) {
-			for (int col = 0; col < grid.get(row).size(); col++) {
-				Tile currentTile = grid.get(row).get(col);
-				if (currentTile == null)  continue ; 
-				if (currentTile.getHabitats().contains(habitat1) && currentTile.getHabitats().contains(habitat2))      return true;
-				List<Position> neighbors = Board.getHexagonalNeighbors(new Position(col, row));
-				for (int side = 0; side < neighbors.size(); side++) {
-					Position neighbor = neighbors.get(side);
-					if (!board.isInBounds(neighbor)) continue;
-					Tile neighborTile = grid.get(neighbor.y()).get(neighbor.x());
-					if (neighborTile == null)   continue;
-					List<Habitat> currentTileSides = currentTile.getHabitats();
-					List<Habitat> neighborTileSides = neighborTile.getHabitats();
-					int[] indices = calculateSideIndices(col, row, neighbor.x(), neighbor.y());
-					int currentSideIndex = indices[0];
-					int neighborSideIndex = indices[1];
-					if ((currentTileSides.get(currentSideIndex) == habitat1 &&   neighborTileSides.get(neighborSideIndex) == habitat2)|| (currentTileSides.get(currentSideIndex) == habitat2 &&  neighborTileSides.get(neighborSideIndex) == habitat1)) return true;}}} 
-		return false;}
+		return board.areHabitatsAdjacent(habitat1, habitat2);
+	}
 
 
 
@@ -106,7 +90,7 @@ public record HexagoHabitatAnalyzer(Board board) implements HabitatAnalyzer {
 			return false;
 		}
 		List<Habitat> neighborTileSides = neighborTile.getRotatedHabitats();
-		int[] indices = calculateSideIndices(current.x(), current.y(), neighbor.x(), neighbor.y());
+		int[] indices = Board.getHexagonalSideIndices(current, neighbor);
 		int currentSideIndex = indices[0];
 		int neighborSideIndex = indices[1];
 		return currentTileSides.get(currentSideIndex) == habitat &&
@@ -114,25 +98,4 @@ public record HexagoHabitatAnalyzer(Board board) implements HabitatAnalyzer {
 	}
 
 
-	private int[] calculateSideIndices(int currentX, int currentY, int neighborX, int neighborY) {
-		int dx = neighborX - currentX;
-		int dy = neighborY - currentY;
-		boolean isEvenRow = (currentY % 2 == 0); // ça dépend de la la ligne si paire ou impaire 
-		if (dx == -1 && dy == 0)  return new int[]{1, 0};
-		if (dx == 1 && dy == 0)  return new int[]{4, 1};
-		if (isEvenRow) {
-			if (dx == -1 && dy == -1) return new int[]{2, 5};
-			if (dx == -1 && dy == 1)  return new int[]{0, 3};
-			if (dx == 0 && dy == -1)  return new int[]{3, 0};
-			if (dx == 0 && dy == 1)    return new int[]{5, 2};
-		} else {
-			if (dx == 1 && dy == -1) return new int[]{3, 0};
-			if (dx == 1 && dy == 1)  return new int[]{5, 2};
-			if (dx == 0 && dy == -1) return new int[]{5, 2};
-			if (dx == 0 && dy == 1) return new int[]{0, 3};
-		}
-		throw new IllegalArgumentException("Invalid neighbor coordinates! Current: (" + currentX + ", " + currentY + "), Neighbor: (" + neighborX + ", " + neighborY + ")");
-	}
-
-
 }
@@ -0,0 +1,151 @@
+package fr.uge.cascadia.score;
+
+import java.util.List;
+import java.util.Objects;
+
+import fr.uge.cascadia.Player;
+import fr.uge.cascadia.tile.Habitat;
+
+/**
+ * Gives the bonus points of the habitat majorities.
+ *
+ * For each habitat, the best and second best scores are selected in a single pass over the players,
+ * then the bonus is given in a second pass, so the cost is linear in the number of players
+ * whatever the number of seats :
+ * <ul>
+ * <li>one player : 2 points for each habitat of at least 7 tiles</li>
+ * <li>two players : 2 points to the best, 1 point each on a tie</li>
+ * <li>three players or more : 3 points to the best, 2 points each on a tie,
+ * and 1 point to the second if both places are not shared</li>
+ * </ul>
+ *
+ * @author massinissa
+ */
+public final class MajorityBonus {
+
+	/**
+	 * Minimum number of tables for a batch to be ranked in parallel.
+	 */
+	static final int PARALLEL_THRESHOLD = 64;
+
+	private static final int SOLO_MINIMUM = 7;
+
+	/**
+	 * The bonus of each player of a table.
+	 *
+	 * @param bonusPoints the bonus points, indexed like the players.
+	 * @param majorities  the number of habitats where the player is first, indexed like the players.
+	 */
+	public record Award(int[] bonusPoints, int[] majorities) {
+
+		/**
+		 * Creates an award.
+		 */
+		public Award {
+			Objects.requireNonNull(bonusPoints);
+			Objects.requireNonNull(majorities);
+			if (bonusPoints.length != majorities.length) {
+				throw new IllegalArgumentException("Il faut autant de bonus que de majorités.");
+			}
+		}
+	}
+
+	private MajorityBonus() {
+		// utility class
+	}
+
+	/**
+	 * Computes the bonus of a table from the habitat scores of its players.
+	 *
+	 * @param habitatScores the habitat scores, one array by player indexed by {@code Habitat.ordinal()}.
+	 * @return the bonus of each player.
+	 */
+	public static Award compute(int[][] habitatScores) {
+		Objects.requireNonNull(habitatScores);
+		int players = habitatScores.length;
+		int[] bonus = new int[players];
+		int[] majorities = new int[players];
+		if (players == 1) {
+			for (int points : habitatScores[0]) {
+				if (points >= SOLO_MINIMUM) {
+					bonus[0] += 2;
+				}
+			}
+			return new Award(bonus, majorities);
+		}
+		for (int habitat = 0; habitat < Habitat.values().length; habitat++) {
+			int best = Integer.MIN_VALUE;
+			int bestCount = 0;
+			int second = Integer.MIN_VALUE;
+			int secondCount = 0;
+			for (int[] scores : habitatScores) {
+				int points = scores[habitat];
+				if (points > best) {
+					second = best;
+					secondCount = bestCount;
+					best = points;
+					bestCount = 1;
+				} else if (points == best) {
+					bestCount++;
+				} else if (points > second) {
+					second = points;
+					secondCount = 1;
+				} else if (points == second) {
+					secondCount++;
+				}
+			}
+			boolean tie = bestCount > 1;
+			boolean secondPlace = players >= 3 && !tie && secondCount == 1;
+			for (int i = 0; i < players; i++) {
+				int points = habitatScores[i][habitat];
+				if (points == best) {
+					bonus[i] += players == 2 ? (tie ? 1 : 2) : (tie ? 2 : 3);
+					majorities[i]++;
+				} else if (secondPlace && points == second) {
+					bonus[i] += 1;
+				}
+			}
+		}
+		return new Award(bonus, majorities);
+	}
+
+	/**
+	 * Gives the bonus points and the majorities to the players of a game.
+	 *
+	 * @param players the players of the game.
+	 */
+	public static void assign(List<Player> players) {
+		Objects.requireNonNull(players);
+		if (players.isEmpty()) return;
+		int[][] habitatScores = new int[players.size()][Habitat.values().length];
+		for (int i = 0; i < players.size(); i++) {
+			Score score = players.get(i).getScore();
+			for (Habitat habitat : Habitat.values()) {
+				habitatScores[i][habitat.ordinal()] = score.getHabitatScore(habitat);
+			}
+		}
+		Award award = compute(habitatScores);
+		for (int i = 0; i < players.size(); i++) {
+			Player player = players.get(i);
+			player.getScore().addBonusPoints(award.bonusPoints()[i]);
+			for (int m = 0; m < award.majorities()[i]; m++) {
+				player.addMajorityHabitat();
+			}
+		}
+	}
+
+	/**
+	 * Gives the bonus points of several games at once, for example all the tables of a tournament.
+	 * The tables are independent : large batches are ranked in parallel.
+	 *
+	 * @param tables the players of each game, a player belongs to one table only.
+	 */
+	public static void assignAll(List<List<Player>> tables) {
+		Objects.requireNonNull(tables);
+		if (tables.size() < PARALLEL_THRESHOLD) {
+			tables.forEach(MajorityBonus::assign);
+		} else {
+			tables.parallelStream().forEach(MajorityBonus::assign);
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package fr.uge.cascadia.score;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+
+import fr.uge.cascadia.Position;
+import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.animal.AnimalToken;
+import fr.uge.cascadia.board.Board;
+import fr.uge.cascadia.tile.Habitat;
+import fr.uge.cascadia.tile.Tile;
+import fr.uge.cascadia.tile.TileType;
+
+/**
+ * Estimates the points a tile brings at each free position of a board.
+ *
+ * The gain of a position is the best increase of the score over the rotations of the tile and the places
+ * of the token taken with it : the largest sets of the habitats of the tile, plus the animals whose score
+ * reads the token. Every move is played on a copy of the board, the board and the tile are never modified.
+ * The token scores the same wherever the tile goes, except on the tile itself : the places already on
+ * the board are evaluated once for all the positions.
+ *
+ * @author massinissa
+ */
+public final class PlacementEvaluator {
+
+	private PlacementEvaluator() {
+		// utility class
+	}
+
+	/**
+	 * Calculates the gain of a tile at each position of {@link Board#getValidPositions()}.
+	 * Stops as soon as the thread is interrupted.
+	 *
+	 * @param board           the board, read only.
+	 * @param tile            the tile to place, read only.
+	 * @param token           the token placed after the tile, or null if it is not chosen yet.
+	 * @param scoringStrategy the scoring strategy of the game.
+	 * @return the best gain of score at each free position.
+	 * @throws CancellationException if the thread is interrupted.
+	 */
+	public static Map<Position, Integer> evaluate(Board board, Tile tile, AnimalToken token, ScoringStrategy scoringStrategy) {
+		Objects.requireNonNull(board);
+		Objects.requireNonNull(tile);
+		Objects.requireNonNull(scoringStrategy);
+		int[] habitatScores = analyzerOf(board).calculateHabitatScores(board);
+		int[] animalScores = token == null ? null : animalScores(board, token, scoringStrategy);
+		int boardTargets = token == null ? Integer.MIN_VALUE : bestTokenGain(board, board.getTokenTargets(token.animal()), token, scoringStrategy, animalScores);
+
+		Map<Position, Integer> gains = new HashMap<>();
+		for (Position position : board.getValidPositions()) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new CancellationException("Placement evaluation interrupted");
+			}
+			Board trial = board.copy();
+			Tile placed = tile.copy();
+			trial.insertTile(position, placed); // la grille peut grandir : on relit la position de la tuile
+			int habitatGain = bestHabitatGain(trial, placed, habitatScores);
+			int tokenGain = boardTargets;
+			if (token != null && placed.getCompatibleAnimals().contains(token.animal())) {
+				tokenGain = Math.max(tokenGain, bestTokenGain(trial, List.of(trial.getInsertedTiles().get(placed)), token, scoringStrategy, animalScores));
+			}
+			// sans place pour le jeton, il retourne dans le sac
+			gains.put(position, habitatGain + (tokenGain == Integer.MIN_VALUE ? 0 : tokenGain));
+		}
+		return gains;
+	}
+
+	/**
+	 * Tries every rotation of a tile placed on a board.
+	 *
+	 * @param trial         the board with the tile, the tile is rotated.
+	 * @param placed        the tile on the board.
+	 * @param habitatScores the habitat scores without the tile.
+	 * @return the best gain of the habitats of the tile.
+	 */
+	private static int bestHabitatGain(Board trial, Tile placed, int[] habitatScores) {
+		HabitatAnalyzer analyzer = analyzerOf(trial);
+		// une tuile d'un seul habitat est la même dans toutes les orientations
+		int rotations = placed.supportsRotation() && placed.getHabitats().size() > 1 ? 6 : 1;
+		int best = Integer.MIN_VALUE;
+		for (int rotation = 0; rotation < rotations; rotation++) {
+			if (rotation > 0) {
+				trial.rotateTileClockwise(placed);
+			}
+			int gain = 0;
+			for (Habitat habitat : placed.getHabitats()) {
+				gain += analyzer.calculateHabitatScore(trial, habitat) - habitatScores[habitat.ordinal()];
+			}
+			best = Math.max(best, gain);
+		}
+		return best;
+	}
+
+	/**
+	 * Tries a token at each of the given places.
+	 *
+	 * @param board           the board, read only.
+	 * @param targets         the places of the token.
+	 * @param token           the token.
+	 * @param scoringStrategy the scoring strategy of the game.
+	 * @param animalScores    the animal scores before the token.
+	 * @return the best gain of the animal scores, {@code Integer.MIN_VALUE} if there is no place.
+	 */
+	private static int bestTokenGain(Board board, List<Position> targets, AnimalToken token, ScoringStrategy scoringStrategy, int[] animalScores) {
+		int best = Integer.MIN_VALUE;
+		for (Position target : targets) {
+			Board trial = board.copy();
+			trial.placeToken(target, token);
+			int gain = 0;
+			for (Animal animal : Animal.values()) {
+				if (isAffected(animal, token, scoringStrategy)) {
+					gain += scoringStrategy.calculateScore(trial, animal) - animalScores[animal.ordinal()];
+				}
+			}
+			best = Math.max(best, gain);
+		}
+		return best;
+	}
+
+	/*
+	 * Seuls les animaux dont le score lit le jeton sont recalculés.
+	 */
+	private static int[] animalScores(Board board, AnimalToken token, ScoringStrategy scoringStrategy) {
+		int[] scores = new int[Animal.values().length];
+		for (Animal animal : Animal.values()) {
+			if (isAffected(animal, token, scoringStrategy)) {
+				scores[animal.ordinal()] = scoringStrategy.calculateScore(board, animal);
+			}
+		}
+		return scores;
+	}
+
+	private static boolean isAffected(Animal animal, AnimalToken token, ScoringStrategy scoringStrategy) {
+		return animal == token.animal() || scoringStrategy.readsOtherAnimals(animal);
+	}
+
+	private static HabitatAnalyzer analyzerOf(Board board) {
+		return board.getType() == TileType.Hexagonal
+				? new HexagoHabitatAnalyzer(board)
+						: new SquareHabitatAnalyzer(board);
+	}
+}
@@ -51,6 +51,16 @@ public record SalmonScoring ( CardType cardType)  implements ScoringCard {
 
 
 
+	/**
+	 * The card D counts the animals next to the salmons.
+	 *
+	 * @return true for the card D.
+	 */
+	@Override
+	public boolean readsOtherAnimals() {
+		return cardType == CardType.D;
+	}
+
 	private int calculateSizeBasedScoreA(Board board) {
 
 		int score = 0;
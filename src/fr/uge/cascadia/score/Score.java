@@ -11,15 +11,31 @@ import java.util.*;
 /**
  * The Score class manages the calculation of points for animals, habitats, and bonuses.
  *
+ * Each animal and habitat score is kept with the version of the board it was computed for
+ * (see {@link Board#getAnimalVersion(Animal)} and {@link Board#getHabitatVersion(Habitat)}) :
+ * a new calculation only recomputes the components modified since.
+ * The points are stored in a {@link ScoreVector}, the maps of scores are views of it.
+ *
  * @author massinissa
  */
 public class Score {
 	private final Board board;
 	private ScoringStrategy scoringStrategy;
 
-	private final Map<Habitat, Integer> habitatScores = new EnumMap<>(Habitat.class);
-	private final Map<Animal, Integer> animalScores = new EnumMap<>(Animal.class);
-	private int bonusPoints = 0;
+	/*
+	 * Points calculés : les jetons nature sont lus sur le plateau à chaque lecture, leur case reste à 0.
+	 */
+	private final ScoreVector points = new ScoreVector();
+
+	/**
+	 * Version of the board each animal score was computed for, -1 if it must be computed.
+	 */
+	private final int[] animalVersions = new int[Animal.values().length];
+
+	/**
+	 * Version of the board each habitat score was computed for, -1 if it must be computed.
+	 */
+	private final int[] habitatVersions = new int[Habitat.values().length];
 
 
 
@@ -31,6 +47,8 @@ public class Score {
 	 */
 	public Score(Board board) {
 		this.board = Objects.requireNonNull(board, "Le plateau ne peut pas être null.");
+		Arrays.fill(animalVersions, -1);
+		Arrays.fill(habitatVersions, -1);
 	}
 
 
@@ -43,11 +61,16 @@ public class Score {
 	 * @throws NullPointerException If the strategy is null.
 	 */
 	public void setScoringStrategy(ScoringStrategy scoringStrategy) {
-		this.scoringStrategy = Objects.requireNonNull(scoringStrategy);
+		Objects.requireNonNull(scoringStrategy);
+		if (!scoringStrategy.equals(this.scoringStrategy)) {
+			Arrays.fill(animalVersions, -1); // les scores des animaux dépendent des cartes
+		}
+		this.scoringStrategy = scoringStrategy;
 	}
 
 	/**
 	 * Calculates scores for all animals using the defined strategy.
+	 * Only the animals whose tokens changed since the last calculation are recomputed.
 	 *
 	 */
 	public void calculateAnimalScores() {
@@ -55,111 +78,87 @@ public class Score {
 			throw new IllegalStateException("La stratégie de scoring doit être définie avant de calculer les points.");
 		}
 
-		animalScores.clear();
-		for (Animal animal : Animal.values()) {
-			int points = scoringStrategy.calculateScore(board, animal);
-			animalScores.put(animal, points);
+		Animal[] animals = Animal.values();
+		for (int i = 0; i < animals.length; i++) {
+			Animal animal = animals[i];
+			int version = animalVersion(animal);
+			if (animalVersions[i] == version) continue;
+			try {
+				setAnimalScore(animal, scoringStrategy.calculateScore(board, animal), version);
+			} catch (RuntimeException e) {
+				for (int j = i; j < animals.length; j++) { // comme avant : seuls les animaux déjà calculés gardent un score
+					points.clearAnimal(animals[j]);
+					animalVersions[j] = -1;
+				}
+				throw e;
+			}
 		}
 	}
 
-
-
-	/**
-	 * Calculates scores for habitats based on the largest connected area.
+	/*
+	 * Les cartes qui lisent les autres animaux dépendent de tout le plateau.
 	 */
-	public void calculateHabitatScores() {
-		habitatScores.clear();
-		HabitatAnalyzer analyzer = board.getType() == TileType.Hexagonal
-				? new HexagoHabitatAnalyzer(board)
-						: new SquareHabitatAnalyzer(board);
+	private int animalVersion(Animal animal) {
+		return scoringStrategy.readsOtherAnimals(animal) ? board.getVersion() : board.getAnimalVersion(animal);
+	}
 
-		Map<Habitat, Integer> calculatedScores = analyzer.calculateHabitatScores(board);
-		habitatScores.putAll(calculatedScores);
+	private void setAnimalScore(Animal animal, int animalPoints, int version) {
+		points.setAnimal(animal, animalPoints);
+		animalVersions[animal.ordinal()] = version;
 	}
 
 
+
 	/**
-	 * Calculates bonus points for habitats based on majorities.
-	 *
-	 * @param players The list of players. Cannot be null.
-	 * @throws NullPointerException If the player list is null.
+	 * Calculates scores for habitats based on the largest connected area.
+	 * Only the habitats whose tiles changed since the last calculation are recomputed.
 	 */
-	public static void calculateBonusPoints(List<Player> players) {
-		Objects.requireNonNull(players);
-
-		if (players.size() == 1) {
-			calculateSoloBonus(players.get(0));
-		} else {
-			for (Habitat habitat : Habitat.values()) {
-				calculateHabitatBonus(players, habitat);
+	public void calculateHabitatScores() {
+		HabitatAnalyzer analyzer = null;
+		for (Habitat habitat : Habitat.values()) {
+			int version = board.getHabitatVersion(habitat);
+			if (habitatVersions[habitat.ordinal()] == version) continue;
+			if (analyzer == null) {
+				analyzer = board.getType() == TileType.Hexagonal
+						? new HexagoHabitatAnalyzer(board)
+								: new SquareHabitatAnalyzer(board);
 			}
+			setHabitatScore(habitat, analyzer.calculateHabitatScore(board, habitat), version);
 		}
 	}
 
-	private static void calculateSoloBonus(Player player) {
-		int bonus = 0;
-
-		for (Map.Entry<Habitat, Integer> entry : player.getScore().getHabitatScores().entrySet()) {
-			if (entry.getValue() >= 7) {
-				bonus += 2;
-			}
-		}
-
-		player.getScore().addBonusPoints(bonus);
+	private void setHabitatScore(Habitat habitat, int habitatPoints, int version) {
+		points.setHabitat(habitat, habitatPoints);
+		habitatVersions[habitat.ordinal()] = version;
 	}
 
-	private static void calculateHabitatBonus(List<Player> players, Habitat habitat) {
-		int maxScore = players.stream()
-				.mapToInt(player -> player.getScore().getHabitatScores().getOrDefault(habitat, 0))
-				.max()
-				.orElse(0);
-
-		List<Player> firstPlacePlayers = players.stream()
-				.filter(player -> player.getScore().getHabitatScores().getOrDefault(habitat, 0) == maxScore)
-				.toList();
 
-		if (players.size() == 2) {
-			assignTwoPlayerBonus(firstPlacePlayers);
-		} else if (players.size() >= 3) {
-			assignMultiPlayerBonus(players, firstPlacePlayers, habitat);
+	/**
+	 * Replaces the scores of animals and habitats by scores calculated elsewhere
+	 * (see {@link ScoringExecutor}).
+	 *
+	 * @param animalPoints  the points of each animal, indexed by {@code Animal.ordinal()}.
+	 * @param habitatPoints the points of each habitat, indexed by {@code Habitat.ordinal()}.
+	 */
+	void setScores(int[] animalPoints, int[] habitatPoints) {
+		for (Animal animal : Animal.values()) {
+			setAnimalScore(animal, animalPoints[animal.ordinal()], animalVersion(animal));
 		}
-	}
-
-	private static void assignTwoPlayerBonus(List<Player> firstPlacePlayers) {
-		if (firstPlacePlayers.size() > 1) {
-			firstPlacePlayers.forEach(player -> {
-				player.getScore().addBonusPoints(1);
-				player.addMajorityHabitat();
-			}); // Égalité : 1 point chacun.
-		} else {
-			Player winner = firstPlacePlayers.get(0);
-			winner.getScore().addBonusPoints(2); // Seul gagnant : 2 points.
-			winner.addMajorityHabitat();
+		for (Habitat habitat : Habitat.values()) {
+			setHabitatScore(habitat, habitatPoints[habitat.ordinal()], board.getHabitatVersion(habitat));
 		}
 	}
 
+	/**
+	 * Calculates bonus points for habitats based on majorities.
+	 *
+	 * @param players The list of players. Cannot be null.
+	 * @throws NullPointerException If the player list is null.
+	 */
+	public static void calculateBonusPoints(List<Player> players) {
+		Objects.requireNonNull(players);
 
-
-	private static void assignMultiPlayerBonus(List<Player> players, List<Player> firstPlacePlayers, Habitat habitat) {
-		int maxScore = players.stream().mapToInt(player -> player.getScore().getHabitatScores().getOrDefault(habitat, 0)).max().orElse(0);
-		int secondMaxScore = players.stream()
-				.mapToInt(player -> player.getScore().getHabitatScores().getOrDefault(habitat, 0))
-				.filter(score -> score < maxScore).max()
-				.orElse(0);
-		List<Player> secondPlacePlayers = players.stream()
-				.filter(player -> player.getScore().getHabitatScores().getOrDefault(habitat, 0) == secondMaxScore)
-				.toList();
-		if (firstPlacePlayers.size() > 1) {
-			firstPlacePlayers.forEach(player -> {
-				player.getScore().addBonusPoints(2); // Égalité : 2 points chacun.
-				player.addMajorityHabitat();   });
-		} else {
-			Player winner = firstPlacePlayers.get(0);
-			winner.getScore().addBonusPoints(3); // Seul gagnant : 3 points.
-			winner.addMajorityHabitat(); }
-		if (firstPlacePlayers.size() == 1 && secondPlacePlayers.size() == 1) {
-			secondPlacePlayers.get(0).getScore().addBonusPoints(1); // Deuxième place : 1 point.
-		}
+		MajorityBonus.assign(players);
 	}
 
 
@@ -170,7 +169,7 @@ public class Score {
 	 * @param points the points to add to the bonus
 	 */
 	public void addBonusPoints(int points) {
-		bonusPoints += points;
+		this.points.addBonus(points);
 	}
 
 
@@ -181,28 +180,58 @@ public class Score {
 	 * @return the total points
 	 */
 	public int getTotalPoints() {
+		return points.getTotal() + board.getNatureTokens(); // Jetons nature non utilisés.
+	}
 
-		return animalScores.values().stream().mapToInt(Integer::intValue).sum()
-				+ habitatScores.values().stream().mapToInt(Integer::intValue).sum()
-				+ bonusPoints
-				+ board.getNatureTokens(); // Jetons nature non utilisés.
+	/**
+	 * Gets a copy of the points, with the nature tokens the player has now.
+	 *
+	 * @return the points of the player.
+	 */
+	public ScoreVector getVector() {
+		ScoreVector vector = points.copy();
+		vector.setNatureTokens(board.getNatureTokens());
+		return vector;
 	}
+
+	/**
+	 * Gets the points of an habitat.
+	 *
+	 * @param habitat the habitat.
+	 * @return the points, 0 if they were not calculated.
+	 */
+	public int getHabitatScore(Habitat habitat) {
+		Objects.requireNonNull(habitat);
+		return points.getHabitat(habitat);
+	}
+
+	/**
+	 * Gets the points of an animal.
+	 *
+	 * @param animal the animal.
+	 * @return the points, 0 if they were not calculated.
+	 */
+	public int getAnimalScore(Animal animal) {
+		Objects.requireNonNull(animal);
+		return points.getAnimal(animal);
+	}
+
 	/**
 	 * Getter of the score of habitats only  
-	 * @return a map of habitats as a key and points as values
+	 * @return a read-only map of habitats as a key and points as values
 	 */
 	public Map<Habitat, Integer> getHabitatScores() {
-		return habitatScores;
+		return points.habitatScores();
 	}
 
 	
 	
 	/**
 	 * Getter of the score of animals only 
-	 * @return a map of habitats as a key and points as values
+	 * @return a read-only map of animals as a key and points as values
 	 */
 	public Map<Animal, Integer> getAnimalScores() {
-		return animalScores;
+		return points.animalScores();
 	}
 
 
@@ -211,7 +240,7 @@ public class Score {
 	 * @return bonus points
 	 */
 	public int getBonusPoints() {
-		return bonusPoints;
+		return points.getBonus();
 	}
 
 
@@ -225,15 +254,15 @@ public class Score {
 		StringBuilder sb = new StringBuilder();
 		sb.append("\n === Score Détail ===\n");
 		sb.append("Scores des animaux :\n");
-		animalScores.forEach((animal, score) -> 
+		points.animalScores().forEach((animal, score) -> 
 		sb.append(" - ").append(animal).append(" : ").append(score).append(" points\n"));
 
 		sb.append("\nScores des habitats :\n");
-		habitatScores.forEach((habitat, score) -> 
+		points.habitatScores().forEach((habitat, score) -> 
 		sb.append(" - ").append(habitat).append(" : ").append(score).append(" points\n"));
 
 		// Points de bonus
-		sb.append("\nPoints de bonus : ").append(bonusPoints).append(" points\n");
+		sb.append("\nPoints de bonus : ").append(points.getBonus()).append(" points\n");
 
 		// Jetons nature non utilisés
 		sb.append("Jetons nature non utilisés : ").append(board.getNatureTokens()).append(" points\n");
@@ -0,0 +1,341 @@
+package fr.uge.cascadia.score;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntBinaryOperator;
+
+import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.tile.Habitat;
+
+/**
+ * The points of a player stored in a single int array :
+ * the animals and the habitats indexed by their ordinal, then the bonus and the nature tokens.
+ *
+ * A component is defined once it has been set ; the map views ({@link #animalScores()}, {@link #habitatScores()})
+ * only contain the defined components, like the maps of scores used before. Undefined components count as 0.
+ *
+ * @author massinissa
+ */
+public final class ScoreVector implements Comparable<ScoreVector> {
+
+	private static final Animal[] ANIMALS = Animal.values();
+	private static final Habitat[] HABITATS = Habitat.values();
+	private static final int HABITAT_OFFSET = ANIMALS.length;
+	private static final int BONUS = HABITAT_OFFSET + HABITATS.length;
+	private static final int NATURE = BONUS + 1;
+	private static final int SIZE = NATURE + 1;
+
+	private final int[] values;
+
+	/**
+	 * Defined components, bit {@code i} for {@code values[i]}.
+	 */
+	private int defined;
+
+	/**
+	 * Creates an empty vector : no component defined, no bonus, no nature token.
+	 */
+	public ScoreVector() {
+		this.values = new int[SIZE];
+	}
+
+	private ScoreVector(int[] values, int defined) {
+		this.values = values;
+		this.defined = defined;
+	}
+
+	/**
+	 * Gets the points of an animal.
+	 *
+	 * @param animal the animal.
+	 * @return the points, 0 if not defined.
+	 */
+	public int getAnimal(Animal animal) {
+		return values[animal.ordinal()];
+	}
+
+	/**
+	 * Sets the points of an animal.
+	 *
+	 * @param animal the animal.
+	 * @param points the points.
+	 */
+	public void setAnimal(Animal animal, int points) {
+		set(animal.ordinal(), points);
+	}
+
+	/**
+	 * Forgets the points of an animal.
+	 *
+	 * @param animal the animal.
+	 */
+	public void clearAnimal(Animal animal) {
+		clear(animal.ordinal());
+	}
+
+	/**
+	 * Gets the points of an habitat.
+	 *
+	 * @param habitat the habitat.
+	 * @return the points, 0 if not defined.
+	 */
+	public int getHabitat(Habitat habitat) {
+		return values[HABITAT_OFFSET + habitat.ordinal()];
+	}
+
+	/**
+	 * Sets the points of an habitat.
+	 *
+	 * @param habitat the habitat.
+	 * @param points  the points.
+	 */
+	public void setHabitat(Habitat habitat, int points) {
+		set(HABITAT_OFFSET + habitat.ordinal(), points);
+	}
+
+	/**
+	 * Forgets the points of an habitat.
+	 *
+	 * @param habitat the habitat.
+	 */
+	public void clearHabitat(Habitat habitat) {
+		clear(HABITAT_OFFSET + habitat.ordinal());
+	}
+
+	private void set(int index, int points) {
+		values[index] = points;
+		defined |= 1 << index;
+	}
+
+	private void clear(int index) {
+		values[index] = 0;
+		defined &= ~(1 << index);
+	}
+
+	/**
+	 * Gets the bonus points.
+	 *
+	 * @return the bonus points.
+	 */
+	public int getBonus() {
+		return values[BONUS];
+	}
+
+	/**
+	 * Adds bonus points.
+	 *
+	 * @param points the points to add.
+	 */
+	public void addBonus(int points) {
+		values[BONUS] += points;
+	}
+
+	/**
+	 * Gets the points of the unused nature tokens.
+	 *
+	 * @return the number of nature tokens.
+	 */
+	public int getNatureTokens() {
+		return values[NATURE];
+	}
+
+	/**
+	 * Sets the number of unused nature tokens.
+	 *
+	 * @param natureTokens the number of nature tokens.
+	 */
+	public void setNatureTokens(int natureTokens) {
+		values[NATURE] = natureTokens;
+	}
+
+	/**
+	 * Gets the sum of the points of the animals.
+	 *
+	 * @return the points of the animals.
+	 */
+	public int getAnimalTotal() {
+		return sum(0, HABITAT_OFFSET);
+	}
+
+	/**
+	 * Gets the sum of the points of the habitats.
+	 *
+	 * @return the points of the habitats.
+	 */
+	public int getHabitatTotal() {
+		return sum(HABITAT_OFFSET, BONUS);
+	}
+
+	/**
+	 * Gets the total : animals, habitats, bonus and nature tokens.
+	 *
+	 * @return the total points.
+	 */
+	public int getTotal() {
+		return sum(0, SIZE);
+	}
+
+	private int sum(int from, int to) {
+		int sum = 0;
+		for (int i = from; i < to; i++) {
+			sum += values[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * Adds the points of another vector to this one, component by component.
+	 *
+	 * @param other the points to add.
+	 */
+	public void add(ScoreVector other) {
+		merge(other, Integer::sum);
+	}
+
+	/**
+	 * Combines the points of another vector with this one, component by component.
+	 * A component defined in one of the vectors is defined in the result.
+	 *
+	 * @param other    the other vector.
+	 * @param operator the function combining a component of this vector and the same component of the other.
+	 */
+	public void merge(ScoreVector other, IntBinaryOperator operator) {
+		Objects.requireNonNull(other);
+		Objects.requireNonNull(operator);
+		for (int i = 0; i < SIZE; i++) {
+			values[i] = operator.applyAsInt(values[i], other.values[i]);
+		}
+		defined |= other.defined;
+	}
+
+	/**
+	 * Copies this vector.
+	 *
+	 * @return an independent copy.
+	 */
+	public ScoreVector copy() {
+		return new ScoreVector(values.clone(), defined);
+	}
+
+	/**
+	 * Compares the totals, then the nature tokens as in the rules of the game.
+	 *
+	 * @param other the other vector.
+	 * @return a negative number, zero or a positive number if this score is lower, equal or greater.
+	 */
+	@Override
+	public int compareTo(ScoreVector other) {
+		int compare = Integer.compare(getTotal(), other.getTotal());
+		return compare != 0 ? compare : Integer.compare(getNatureTokens(), other.getNatureTokens());
+	}
+
+	/**
+	 * Gets a read-only view of the defined points of the animals.
+	 *
+	 * @return a map view backed by this vector.
+	 */
+	public Map<Animal, Integer> animalScores() {
+		return new View<>(ANIMALS, 0);
+	}
+
+	/**
+	 * Gets a read-only view of the defined points of the habitats.
+	 *
+	 * @return a map view backed by this vector.
+	 */
+	public Map<Habitat, Integer> habitatScores() {
+		return new View<>(HABITATS, HABITAT_OFFSET);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof ScoreVector other && defined == other.defined && Arrays.equals(values, other.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(values) + defined;
+	}
+
+	@Override
+	public String toString() {
+		return animalScores() + " " + habitatScores() + " bonus=" + getBonus() + " nature=" + getNatureTokens();
+	}
+
+	/*
+	 * Vue d'une partie du tableau sous forme de map, dans l'ordre des ordinaux comme une EnumMap.
+	 */
+	private final class View<K extends Enum<K>> extends AbstractMap<K, Integer> {
+		private final K[] keys;
+		private final int offset;
+
+		private View(K[] keys, int offset) {
+			this.keys = keys;
+			this.offset = offset;
+		}
+
+		private boolean isDefined(int index) {
+			return (defined & (1 << (offset + index))) != 0;
+		}
+
+		@Override
+		public Integer get(Object key) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] == key) return isDefined(i) ? values[offset + i] : null;
+			}
+			return null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+
+		@Override
+		public int size() {
+			return Integer.bitCount(defined >>> offset & ((1 << keys.length) - 1));
+		}
+
+		@Override
+		public Set<Map.Entry<K, Integer>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public int size() {
+					return View.this.size();
+				}
+
+				@Override
+				public Iterator<Map.Entry<K, Integer>> iterator() {
+					return new Iterator<>() {
+						private int next = advance(0);
+
+						private int advance(int from) {
+							int i = from;
+							while (i < keys.length && !isDefined(i)) i++;
+							return i;
+						}
+
+						@Override
+						public boolean hasNext() {
+							return next < keys.length;
+						}
+
+						@Override
+						public Map.Entry<K, Integer> next() {
+							if (!hasNext()) throw new NoSuchElementException();
+							int index = next;
+							next = advance(next + 1);
+							return Map.entry(keys[index], values[offset + index]);
+						}
+					};
+				}
+			};
+		}
+	}
+}
@@ -19,4 +19,14 @@ public sealed interface ScoringCard permits ElkScoring , BearScoring , BuzzardSc
      * @return The calculated score.
      */
 	int calculate(Board board);
+
+	/**
+	 * Tells if the score of this card reads the tokens of other animals
+	 * (or the layout of the grid), and not only the tokens of its own animal.
+	 *
+	 * @return true if the score may change when any token is placed.
+	 */
+	default boolean readsOtherAnimals() {
+		return false;
+	}
 }
@@ -0,0 +1,84 @@
+package fr.uge.cascadia.score;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import fr.uge.cascadia.Player;
+import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.board.Board;
+import fr.uge.cascadia.tile.Habitat;
+import fr.uge.cascadia.tile.TileType;
+
+/**
+ * Calculates the final scores of all the players at once.
+ *
+ * The score of each animal and of each habitat of each player only reads the board of the player,
+ * so the players × (animals + habitats) computations are independent : they are forked on the
+ * common work stealing pool and joined before the bonus points are given.
+ * Small games are scored serially, the tasks would cost more than the computations.
+ *
+ * @author massinissa
+ */
+public final class ScoringExecutor {
+
+	/**
+	 * Minimum number of tiles on all the boards for the scores to be computed in parallel.
+	 */
+	static final int PARALLEL_THRESHOLD = 40;
+
+	private ScoringExecutor() {
+		// utility class
+	}
+
+	/**
+	 * Sets the scoring strategy of every player and calculates their scores without bonus,
+	 * like {@link Player#calculateScore()} for each player.
+	 *
+	 * @param players         the players.
+	 * @param scoringStrategy the scoring strategy of the game.
+	 */
+	public static void calculateScores(List<Player> players, ScoringStrategy scoringStrategy) {
+		Objects.requireNonNull(players);
+		Objects.requireNonNull(scoringStrategy);
+		int tiles = 0;
+		for (Player player : players) {
+			player.setScoringStrategy(scoringStrategy);
+			tiles += player.getBoard().getInsertedTiles().size();
+		}
+		if (tiles < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+			players.forEach(Player::calculateScore);
+			return;
+		}
+		Animal[] animals = Animal.values();
+		Habitat[] habitats = Habitat.values();
+		List<ForkJoinTask<Integer>> tasks = new ArrayList<>(players.size() * (animals.length + habitats.length));
+		for (Player player : players) {
+			Board board = player.getBoard();
+			HabitatAnalyzer analyzer = board.getType() == TileType.Hexagonal
+					? new HexagoHabitatAnalyzer(board)
+							: new SquareHabitatAnalyzer(board);
+			for (Animal animal : animals) {
+				tasks.add(ForkJoinTask.adapt(() -> scoringStrategy.calculateScore(board, animal)));
+			}
+			for (Habitat habitat : habitats) {
+				tasks.add(ForkJoinTask.adapt(() -> analyzer.calculateHabitatScore(board, habitat)));
+			}
+		}
+		ForkJoinTask.invokeAll(tasks);
+		int next = 0;
+		for (Player player : players) {
+			int[] animalPoints = new int[animals.length];
+			for (Animal animal : animals) {
+				animalPoints[animal.ordinal()] = tasks.get(next++).join();
+			}
+			int[] habitatPoints = new int[habitats.length];
+			for (Habitat habitat : habitats) {
+				habitatPoints[habitat.ordinal()] = tasks.get(next++).join();
+			}
+			player.getScore().setScores(animalPoints, habitatPoints);
+		}
+	}
+}
@@ -19,4 +19,13 @@ public sealed interface ScoringStrategy permits FaunaScoring , VariantScoring  {
      * @return The calculated score for the animal.
      */
 	public int calculateScore(Board board, Animal animal);
+
+	/**
+	 * Tells if the score of an animal depends on the tokens of the other animals.
+	 * Otherwise it only changes when a token of this animal is placed.
+	 *
+	 * @param animal the animal.
+	 * @return true if the score of the animal may change when any token is placed.
+	 */
+	public boolean readsOtherAnimals(Animal animal);
 }
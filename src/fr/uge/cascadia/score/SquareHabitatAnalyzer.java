@@ -54,6 +54,7 @@ public record SquareHabitatAnalyzer(Board board) implements HabitatAnalyzer {
 
     /**
      * Checks if two habitats are adjacent to each other on the board.
+     * The board keeps the contacts between habitats up to date, so this is a single lookup.
      *
  	 * @param board    Board we searching in
 	 * @param habitat1 the first habitat
@@ -64,20 +65,5 @@ public record SquareHabitatAnalyzer(Board board) implements HabitatAnalyzer {
 		Objects.requireNonNull(board); 
 		Objects.requireNonNull(habitat1); 
 		Objects.requireNonNull(habitat2); 
-		var grid = board.getGrid();
-		for (int row = 0; row < grid.size(); row++) {
-			for (int col = 0; col < grid.get(row).size(); col++) {
-				Tile currentTile = grid.get(row).get(col);
-				if (currentTile == null)  continue;                    
-				if (currentTile.getHabitats().contains(habitat1) && currentTile.getHabitats().contains(habitat2)) return true;
-				for (Position neighbor : Board.getSquareNeighbors(new Position(col, row))) {
-					if (!board.isInBounds(new Position(neighbor.y(), neighbor.x()))) continue;
-					Tile neighborTile = grid.get(neighbor.y()).get(neighbor.x());
-					if (neighborTile == null) continue;
-					if (currentTile.getHabitats().contains(habitat1) && neighborTile.getHabitats().contains(habitat2)) {
-						return true;
-					}
-					if (currentTile.getHabitats().contains(habitat2) &&neighborTile.getHabitats().contains(habitat1)) return true;		
-				}}	}
-		return false;
+		return board.areHabitatsAdjacent(habitat1, habitat2);
 	}}
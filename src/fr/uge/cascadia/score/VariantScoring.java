@@ -62,6 +62,18 @@ public record  VariantScoring (String variant) implements ScoringStrategy {
         }
         return score;
     }
+
+    /**
+     * The variants only count the groups of the animal itself.
+     *
+     * @param animal the animal.
+     * @return false.
+     */
+    @Override
+    public boolean readsOtherAnimals(Animal animal) {
+        Objects.requireNonNull(animal);
+        return false;
+    }
    
     private int assignVariantPoint(int groupSize  , String variant){
     	Objects.requireNonNull(variant) ; 
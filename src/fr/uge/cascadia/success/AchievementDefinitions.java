@@ -0,0 +1,123 @@
+package fr.uge.cascadia.success;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the achievement definitions ({@code successNormal.txt}, {@code Scenarios.txt}).
+ *
+ * Each file is read and parsed the first time it is asked for, then the same
+ * read only map is returned for the rest of the process. The rules of each kind
+ * of achievements are compiled from their file once too.
+ *
+ * @author massinissa
+ */
+public final class AchievementDefinitions {
+
+	/**
+	 * Parsed definitions, by file.
+	 */
+	private static final Map<Path, Map<Integer, String>> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * Compiled rules, by kind of achievements.
+	 */
+	private static final Map<AchievementRecord.Kind, List<AchievementEngine.Rule>> RULES = new ConcurrentHashMap<>();
+
+	private AchievementDefinitions() {
+		// utility class
+	}
+
+	/**
+	 * Gets the achievement definitions of a file, reading it only the first time.
+	 * Each non blank line of the file is an ID followed by a space and a description.
+	 *
+	 * @param filename the name of the file containing the definitions.
+	 * @return a read only map of success IDs and descriptions.
+	 * @throws UncheckedIOException if the file cannot be read.
+	 */
+	public static Map<Integer, String> load(String filename) {
+		Objects.requireNonNull(filename);
+		return CACHE.computeIfAbsent(Path.of(filename).toAbsolutePath().normalize(), AchievementDefinitions::read);
+	}
+
+	/**
+	 * Gets the file of the definitions of a kind of achievements.
+	 *
+	 * @param kind the kind of achievements.
+	 * @return the name of the file.
+	 */
+	public static String fileOf(AchievementRecord.Kind kind) {
+		Objects.requireNonNull(kind);
+		return switch (kind) {
+		case GAME -> "successNormal.txt";
+		case SCENARIO -> "Scenarios.txt";
+		};
+	}
+
+	/**
+	 * Gets the rules of a kind of achievements, compiled from its file only the first time.
+	 *
+	 * @param kind the kind of achievements.
+	 * @return the compiled rules, sorted by ID.
+	 * @throws UncheckedIOException if the file cannot be read.
+	 */
+	public static List<AchievementEngine.Rule> rules(AchievementRecord.Kind kind) {
+		Objects.requireNonNull(kind);
+		return RULES.computeIfAbsent(kind, k -> AchievementEngine.compile(load(fileOf(k)), goalsOf(k)));
+	}
+
+	/**
+	 * Gets the rules of definitions of a kind of achievements : the cached rules if the definitions
+	 * are the ones loaded from the file of the kind, rules compiled for this call otherwise.
+	 *
+	 * @param kind        the kind of achievements.
+	 * @param definitions the descriptions of the achievements, by ID.
+	 * @return the compiled rules, sorted by ID.
+	 */
+	public static List<AchievementEngine.Rule> rules(AchievementRecord.Kind kind, Map<Integer, String> definitions) {
+		Objects.requireNonNull(kind);
+		Objects.requireNonNull(definitions);
+		if (definitions == load(fileOf(kind))) {
+			return rules(kind);
+		}
+		return AchievementEngine.compile(definitions, goalsOf(kind));
+	}
+
+	private static Map<Integer, AchievementEngine.Goal> goalsOf(AchievementRecord.Kind kind) {
+		return switch (kind) {
+		case GAME -> AchievementEngine.GAME_RULES;
+		case SCENARIO -> AchievementEngine.SCENARIO_RULES;
+		};
+	}
+
+	private static Map<Integer, String> read(Path path) {
+		try {
+			return parse(Files.readAllLines(path));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erreur lors de la lecture du fichier " + path.getFileName(), e);
+		}
+	}
+
+	private static Map<Integer, String> parse(List<String> lines) {
+		Map<Integer, String> successMap = new HashMap<>();
+		for (String line : lines) {
+			line = line.trim();
+			if (line.isEmpty()) continue;
+
+			String[] parts = line.split(" ", 2);
+			int id = Integer.parseInt(parts[0]);
+			String description = parts[1];
+			successMap.put(id, description);
+		}
+		return Collections.unmodifiableMap(successMap);
+	}
+}
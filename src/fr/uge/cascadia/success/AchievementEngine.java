@@ -0,0 +1,338 @@
+package fr.uge.cascadia.success;
+
+import static java.util.Map.entry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.animal.CardType;
+import fr.uge.cascadia.success.AchievementFeatures.Feature;
+import fr.uge.cascadia.tile.Habitat;
+
+/**
+ * Evaluates the achievements of {@code successNormal.txt} and {@code Scenarios.txt}.
+ *
+ * Each achievement ID is associated with a {@link Goal} over {@link AchievementFeatures} :
+ * a condition, a measure of the progress toward it and the features it reads.
+ * The definitions read from a file are compiled once into a list of {@link Rule},
+ * and checking a player is then a loop over these goals.
+ *
+ * @author massinissa
+ */
+public final class AchievementEngine {
+
+	/**
+	 * The condition of an achievement and the progress of a player toward it.
+	 *
+	 * @param condition the condition to fulfill.
+	 * @param progress  the progress toward the condition, between 0 and 1.
+	 * @param reads     the features read by the condition and the progress.
+	 */
+	public record Goal(Predicate<AchievementFeatures> condition, ToDoubleFunction<AchievementFeatures> progress, Set<Feature> reads) {
+
+		/**
+		 * A goal that can never be fulfilled.
+		 */
+		public static final Goal NEVER = new Goal(f -> false, f -> 0, Set.of());
+
+		/**
+		 * Creates a goal.
+		 */
+		public Goal {
+			Objects.requireNonNull(condition);
+			Objects.requireNonNull(progress);
+			reads = Set.copyOf(reads);
+		}
+
+		/**
+		 * Creates a goal that is either fulfilled (progress 1) or not (progress 0).
+		 *
+		 * @param condition the condition to fulfill.
+		 * @param read      the feature read by the condition.
+		 * @param reads     the other features read by the condition.
+		 * @return the goal.
+		 */
+		public static Goal of(Predicate<AchievementFeatures> condition, Feature read, Feature... reads) {
+			Objects.requireNonNull(condition);
+			return new Goal(condition, f -> condition.test(f) ? 1 : 0, EnumSet.of(read, reads));
+		}
+
+		/**
+		 * Combines two goals : both must be fulfilled, the progress is the one of the least advanced.
+		 *
+		 * @param other the other goal.
+		 * @return the combined goal.
+		 */
+		public Goal and(Goal other) {
+			Objects.requireNonNull(other);
+			Set<Feature> both = EnumSet.noneOf(Feature.class);
+			both.addAll(reads);
+			both.addAll(other.reads);
+			return new Goal(condition.and(other.condition),
+					f -> Math.min(progress.applyAsDouble(f), other.progress.applyAsDouble(f)), both);
+		}
+
+		/**
+		 * Combines this goal with a condition that is either fulfilled or not.
+		 *
+		 * @param other the condition.
+		 * @param read  the feature read by the condition.
+		 * @return the combined goal.
+		 */
+		public Goal and(Predicate<AchievementFeatures> other, Feature read) {
+			return and(of(other, read));
+		}
+
+		/**
+		 * Checks if the goal reads one of the given features.
+		 *
+		 * @param features the features.
+		 * @return true if the condition or the progress may change when these features change.
+		 */
+		public boolean readsAny(Set<Feature> features) {
+			Objects.requireNonNull(features);
+			for (Feature feature : features) {
+				if (reads.contains(feature)) return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * An achievement ready to be checked.
+	 *
+	 * @param id          the ID of the achievement in its file.
+	 * @param description the description of the achievement.
+	 * @param goal        the condition to fulfill.
+	 */
+	public record Rule(int id, String description, Goal goal) {
+
+		/**
+		 * Creates a rule.
+		 */
+		public Rule {
+			Objects.requireNonNull(description);
+			Objects.requireNonNull(goal);
+		}
+
+		/**
+		 * Checks if the achievement is fulfilled.
+		 * @param features the features of the player.
+		 * @return true if the achievement is fulfilled.
+		 */
+		public boolean test(AchievementFeatures features) {
+			return goal.condition().test(features);
+		}
+
+		/**
+		 * Measures the progress toward the achievement.
+		 * @param features the features of the player.
+		 * @return the progress, between 0 and 1 (1 when the achievement is fulfilled).
+		 */
+		public double progress(AchievementFeatures features) {
+			return test(features) ? 1 : Math.min(1, Math.max(0, goal.progress().applyAsDouble(features)));
+		}
+
+		@Override
+		public String toString() {
+			return id + " - " + description;
+		}
+	}
+
+	/**
+	 * Goals of the normal achievements ({@code successNormal.txt}), by ID.
+	 */
+	public static final Map<Integer, Goal> GAME_RULES = Map.ofEntries(
+			entry(1, minimumScore(80)),
+			entry(2, minimumScore(85)),
+			entry(3, minimumScore(90)),
+			entry(4, minimumScore(95)),
+			entry(5, minimumScore(100)),
+			entry(6, minimumScore(105)),
+			entry(7, minimumScore(110)),
+			entry(8, Goal.of(f -> f.natureTokens() == 0, Feature.NATURE_TOKENS)),
+			entry(9, Goal.of(f -> f.animalCount(Animal.Bear) == 0, Feature.ANIMAL_COUNTS)),
+			entry(10, Goal.of(f -> f.animalCount(Animal.Elk) == 0, Feature.ANIMAL_COUNTS)),
+			entry(11, Goal.of(f -> f.animalCount(Animal.Salmon) == 0, Feature.ANIMAL_COUNTS)),
+			entry(12, Goal.of(f -> f.animalCount(Animal.Buzzard) == 0, Feature.ANIMAL_COUNTS)),
+			entry(13, Goal.of(f -> f.animalCount(Animal.Fox) == 0, Feature.ANIMAL_COUNTS)),
+			entry(14, new Goal(f -> f.maxAnimalCount() > 10, f -> ratio(f.maxAnimalCount(), 11), EnumSet.of(Feature.ANIMAL_COUNTS))),
+			entry(15, new Goal(f -> f.majorities() >= 3, f -> ratio(f.majorities(), 3), EnumSet.of(Feature.MAJORITIES))),
+			entry(16, allHabitats(5)),
+			entry(17, singleHabitat(12)),
+			entry(18, singleHabitat(15)),
+			entry(19, allWildlife(10)),
+			entry(20, wildlife(2, 20)),
+			entry(21, singleWildlife(30)),
+			entry(22, natureTokens(5)),
+			entry(23, natureTokens(10)),
+			entry(24, Goal.of(f -> f.gainedNatureTokens() == 0, Feature.GAINED_NATURE_TOKENS)),
+			entry(25, Goal.of(f -> f.animalsWithAtLeast(1) <= 3, Feature.ANIMAL_SCORES)));
+
+	/**
+	 * Goals of the scenario achievements ({@code Scenarios.txt}), by ID.
+	 */
+	public static final Map<Integer, Goal> SCENARIO_RULES = Map.ofEntries(
+			entry(1, minimumScore(80).and(f -> f.usesCard(CardType.A), Feature.CARDS)),
+			entry(2, minimumScore(80).and(f -> f.usesCard(CardType.B), Feature.CARDS)),
+			entry(3, minimumScore(80).and(f -> f.usesCard(CardType.C), Feature.CARDS)),
+			entry(4, minimumScore(85).and(f -> f.usesCard(CardType.D), Feature.CARDS)),
+			entry(5, minimumScore(85).and(natureTokens(3))),
+			entry(6, minimumScore(85).and(everyAnimalCount(4))
+					.and(cards(CardType.D, CardType.B, CardType.C, CardType.C, CardType.B), Feature.CARDS)),
+			entry(7, minimumScore(90).and(singleWildlife(20))
+					.and(cards(CardType.C, CardType.B, CardType.B, CardType.A, CardType.D), Feature.CARDS)),
+			entry(8, minimumScore(90).and(natureTokens(5)).and(f -> !f.animalsAdjacent(Animal.Elk, Animal.Bear), Feature.ANIMAL_ADJACENCY)
+					.and(cards(CardType.C, CardType.B, CardType.B, CardType.A, CardType.D), Feature.CARDS)),
+			entry(9, minimumScore(90).and(allWildlife(10)).and(allHabitats(5))
+					.and(cards(CardType.C, CardType.A, CardType.D, CardType.C, CardType.B), Feature.CARDS)),
+			entry(10, minimumScore(95).and(allWildlife(60)).and(singleHabitat(7))
+					.and(cards(CardType.C, CardType.B, CardType.D, CardType.B, CardType.B), Feature.CARDS)),
+			entry(11, minimumScore(95).and(singleWildlife(30)).and(f -> f.habitatsAdjacent(Habitat.Forests, Habitat.Rivers), Feature.HABITAT_ADJACENCY)
+					.and(cards(CardType.B, CardType.A, CardType.A, CardType.C, CardType.A), Feature.CARDS)),
+			entry(12, minimumScore(95).and(singleHabitat(12))
+					.and(cards(CardType.A, CardType.B, CardType.A, CardType.A, CardType.C), Feature.CARDS)),
+			entry(13, minimumScore(100).and(singleWildlife(5)).and(f -> !f.animalsAdjacent(Animal.Elk, Animal.Buzzard), Feature.ANIMAL_ADJACENCY)
+					.and(cards(CardType.D, CardType.C, CardType.C, CardType.B, CardType.C), Feature.CARDS)),
+			entry(14, minimumScore(100).and(singleHabitat(35)).and(f -> !f.habitatsAdjacent(Habitat.Rivers, Habitat.Wetlands), Feature.HABITAT_ADJACENCY)
+					.and(cards(CardType.A, CardType.C, CardType.B, CardType.A, CardType.D), Feature.CARDS)),
+			entry(15, minimumScore(100).and(natureTokens(5)).and(allHabitats(7))
+					.and(cards(CardType.A, CardType.D, CardType.A, CardType.D, CardType.A), Feature.CARDS)));
+
+	private AchievementEngine() {
+		// utility class
+	}
+
+	/**
+	 * Compiles achievement definitions into rules, sorted by ID.
+	 * An ID without known goal gives a rule that is never fulfilled.
+	 *
+	 * @param definitions the descriptions of the achievements, by ID.
+	 * @param goals       the goals of the achievements, by ID ({@link #GAME_RULES} or {@link #SCENARIO_RULES}).
+	 * @return the compiled rules.
+	 */
+	public static List<Rule> compile(Map<Integer, String> definitions, Map<Integer, Goal> goals) {
+		Objects.requireNonNull(definitions);
+		Objects.requireNonNull(goals);
+		List<Rule> rules = new ArrayList<>(definitions.size());
+		new TreeMap<>(definitions).forEach((id, description) ->
+		rules.add(new Rule(id, description, goals.getOrDefault(id, Goal.NEVER))));
+		return List.copyOf(rules);
+	}
+
+	/**
+	 * Checks which rules are fulfilled by a player.
+	 *
+	 * @param rules    the compiled rules.
+	 * @param features the features of the player.
+	 * @return the fulfilled achievements in the format "ID - Description".
+	 */
+	public static List<String> check(List<Rule> rules, AchievementFeatures features) {
+		Objects.requireNonNull(rules);
+		Objects.requireNonNull(features);
+		List<String> completed = new ArrayList<>();
+		for (Rule rule : rules) {
+			if (rule.test(features)) {
+				completed.add(rule.toString());
+			}
+		}
+		return completed;
+	}
+
+	private static double ratio(int value, int target) {
+		return target <= 0 ? 1 : Math.min(1, Math.max(0, (double) value / target));
+	}
+
+	private static Goal minimumScore(int minScore) {
+		return new Goal(f -> f.totalPoints() >= minScore, f -> ratio(f.totalPoints(), minScore), EnumSet.of(Feature.TOTAL_POINTS));
+	}
+
+	private static Goal natureTokens(int minTokens) {
+		return new Goal(f -> f.natureTokens() >= minTokens, f -> ratio(f.natureTokens(), minTokens), EnumSet.of(Feature.NATURE_TOKENS));
+	}
+
+	/*
+	 * Au moins count habitats avec minPoints : la progression est la moyenne des count meilleurs habitats.
+	 */
+	private static Goal habitats(int count, int minPoints) {
+		return new Goal(f -> f.habitatsWithAtLeast(minPoints) >= count, f -> {
+			int[] points = new int[Habitat.values().length];
+			for (Habitat habitat : Habitat.values()) {
+				points[habitat.ordinal()] = f.habitatScore(habitat);
+			}
+			return bestRatios(points, count, minPoints);
+		}, EnumSet.of(Feature.HABITAT_SCORES));
+	}
+
+	private static Goal allHabitats(int minPoints) {
+		return habitats(Habitat.values().length, minPoints);
+	}
+
+	private static Goal singleHabitat(int minPoints) {
+		return habitats(1, minPoints);
+	}
+
+	/*
+	 * Au moins count animaux avec minPoints : la progression est la moyenne des count meilleurs animaux.
+	 */
+	private static Goal wildlife(int count, int minPoints) {
+		return new Goal(f -> f.animalsWithAtLeast(minPoints) >= count, f -> {
+			int[] points = new int[Animal.values().length];
+			for (Animal animal : Animal.values()) {
+				points[animal.ordinal()] = f.animalScore(animal);
+			}
+			return bestRatios(points, count, minPoints);
+		}, EnumSet.of(Feature.ANIMAL_SCORES));
+	}
+
+	private static Goal allWildlife(int minPoints) {
+		return wildlife(Animal.values().length, minPoints);
+	}
+
+	private static Goal singleWildlife(int minPoints) {
+		return wildlife(1, minPoints);
+	}
+
+	private static Goal everyAnimalCount(int minCount) {
+		return new Goal(f -> {
+			for (Animal animal : Animal.values()) {
+				if (f.animalCount(animal) < minCount) return false;
+			}
+			return true;
+		}, f -> {
+			double sum = 0;
+			for (Animal animal : Animal.values()) {
+				sum += ratio(f.animalCount(animal), minCount);
+			}
+			return sum / Animal.values().length;
+		}, EnumSet.of(Feature.ANIMAL_COUNTS));
+	}
+
+	private static double bestRatios(int[] points, int count, int minPoints) {
+		int[] sorted = points.clone();
+		Arrays.sort(sorted);
+		double sum = 0;
+		for (int i = 0; i < count; i++) {
+			sum += ratio(sorted[sorted.length - 1 - i], minPoints);
+		}
+		return sum / count;
+	}
+
+	/*
+	 * The expected cards are given in the order Bear, Elk, Salmon, Buzzard, Fox.
+	 */
+	private static Predicate<AchievementFeatures> cards(CardType bear, CardType elk, CardType salmon, CardType buzzard, CardType fox) {
+		return f -> f.usedCard(Animal.Bear) == bear && f.usedCard(Animal.Elk) == elk
+				&& f.usedCard(Animal.Salmon) == salmon && f.usedCard(Animal.Buzzard) == buzzard
+				&& f.usedCard(Animal.Fox) == fox;
+	}
+}
@@ -0,0 +1,285 @@
+package fr.uge.cascadia.success;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import fr.uge.cascadia.Player;
+import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.animal.CardType;
+import fr.uge.cascadia.board.Board;
+import fr.uge.cascadia.score.Score;
+import fr.uge.cascadia.tile.Habitat;
+
+/**
+ * Everything the achievements need to know about the end of a game for one player,
+ * extracted once from the board and the score.
+ *
+ * Achievements are then predicates over these features (see {@link AchievementEngine}),
+ * so checking all of them never scans the board again. Adjacencies are read from the
+ * contact counters maintained by the {@link Board}.
+ * Each goal tells which {@link Feature}s it reads : comparing the features of two turns
+ * gives the goals that may have changed.
+ *
+ * @author massinissa
+ */
+public final class AchievementFeatures {
+
+	/**
+	 * The groups of features a goal can read.
+	 */
+	public enum Feature {
+		/**
+		 * The total points.
+		 */
+		TOTAL_POINTS,
+		/**
+		 * The points of each animal.
+		 */
+		ANIMAL_SCORES,
+		/**
+		 * The points of each habitat.
+		 */
+		HABITAT_SCORES,
+		/**
+		 * The number of tokens of each animal.
+		 */
+		ANIMAL_COUNTS,
+		/**
+		 * The animals next to each other.
+		 */
+		ANIMAL_ADJACENCY,
+		/**
+		 * The habitats next to each other.
+		 */
+		HABITAT_ADJACENCY,
+		/**
+		 * The nature tokens left.
+		 */
+		NATURE_TOKENS,
+		/**
+		 * The nature tokens gained.
+		 */
+		GAINED_NATURE_TOKENS,
+		/**
+		 * The habitat majorities won.
+		 */
+		MAJORITIES,
+		/**
+		 * The fauna cards of the game.
+		 */
+		CARDS
+	}
+	private final int totalPoints;
+	private final int[] animalScores = new int[Animal.values().length];
+	private final int[] habitatScores = new int[Habitat.values().length];
+	private final int[] animalCounts = new int[Animal.values().length];
+	private final boolean[][] animalAdjacency;
+	private final boolean[][] habitatAdjacency;
+	private final int natureTokens;
+	private final int gainedNatureTokens;
+	private final int majorities;
+	private final Map<Animal, CardType> usedCards;
+
+	private AchievementFeatures(Player player, Map<Animal, CardType> usedCards) {
+		Board board = player.getBoard();
+		Score score = player.getScore();
+		this.totalPoints = score.getTotalPoints();
+		for (Animal animal : Animal.values()) {
+			animalScores[animal.ordinal()] = score.getAnimalScore(animal);
+			animalCounts[animal.ordinal()] = board.getAnimalCount(animal);
+		}
+		for (Habitat habitat : Habitat.values()) {
+			habitatScores[habitat.ordinal()] = score.getHabitatScore(habitat);
+		}
+		this.animalAdjacency = new boolean[Animal.values().length][Animal.values().length];
+		for (Animal animal1 : Animal.values()) {
+			for (Animal animal2 : Animal.values()) {
+				animalAdjacency[animal1.ordinal()][animal2.ordinal()] = board.getAnimalContacts(animal1, animal2) > 0;
+			}
+		}
+		this.habitatAdjacency = new boolean[Habitat.values().length][Habitat.values().length];
+		for (Habitat habitat1 : Habitat.values()) {
+			for (Habitat habitat2 : Habitat.values()) {
+				habitatAdjacency[habitat1.ordinal()][habitat2.ordinal()] = board.areHabitatsAdjacent(habitat1, habitat2);
+			}
+		}
+		this.natureTokens = board.getNatureTokens();
+		this.gainedNatureTokens = board.getGainedNatureTokens();
+		this.majorities = player.getMajorityHabitat();
+		this.usedCards = usedCards.isEmpty() ? Map.of() : new EnumMap<>(usedCards);
+	}
+
+	/**
+	 * Extracts the features of a player from the last calculated score of the player.
+	 *
+	 * @param player    the player.
+	 * @param usedCards the fauna cards used during the game (empty if the game did not use fauna cards).
+	 * @return the features of the player.
+	 */
+	public static AchievementFeatures extract(Player player, Map<Animal, CardType> usedCards) {
+		Objects.requireNonNull(player);
+		Objects.requireNonNull(usedCards);
+		return new AchievementFeatures(player, usedCards);
+	}
+
+	/**
+	 * Compares these features with the features of the same player at an earlier time.
+	 *
+	 * @param previous the earlier features.
+	 * @return the groups of features that are different.
+	 */
+	public Set<Feature> changedSince(AchievementFeatures previous) {
+		Objects.requireNonNull(previous);
+		Set<Feature> changed = EnumSet.noneOf(Feature.class);
+		if (totalPoints != previous.totalPoints) changed.add(Feature.TOTAL_POINTS);
+		if (!Arrays.equals(animalScores, previous.animalScores)) changed.add(Feature.ANIMAL_SCORES);
+		if (!Arrays.equals(habitatScores, previous.habitatScores)) changed.add(Feature.HABITAT_SCORES);
+		if (!Arrays.equals(animalCounts, previous.animalCounts)) changed.add(Feature.ANIMAL_COUNTS);
+		if (!Arrays.deepEquals(animalAdjacency, previous.animalAdjacency)) changed.add(Feature.ANIMAL_ADJACENCY);
+		if (!Arrays.deepEquals(habitatAdjacency, previous.habitatAdjacency)) changed.add(Feature.HABITAT_ADJACENCY);
+		if (natureTokens != previous.natureTokens) changed.add(Feature.NATURE_TOKENS);
+		if (gainedNatureTokens != previous.gainedNatureTokens) changed.add(Feature.GAINED_NATURE_TOKENS);
+		if (majorities != previous.majorities) changed.add(Feature.MAJORITIES);
+		if (!usedCards.equals(previous.usedCards)) changed.add(Feature.CARDS);
+		return changed;
+	}
+
+	/**
+	 * Getter of the total score.
+	 * @return the total points of the player.
+	 */
+	public int totalPoints() {
+		return totalPoints;
+	}
+
+	/**
+	 * Getter of the score of an animal.
+	 * @param animal the animal.
+	 * @return the points scored with this animal.
+	 */
+	public int animalScore(Animal animal) {
+		return animalScores[animal.ordinal()];
+	}
+
+	/**
+	 * Getter of the score of a habitat.
+	 * @param habitat the habitat.
+	 * @return the points scored with this habitat.
+	 */
+	public int habitatScore(Habitat habitat) {
+		return habitatScores[habitat.ordinal()];
+	}
+
+	/**
+	 * Getter of the number of tokens of an animal on the board.
+	 * @param animal the animal.
+	 * @return the number of tokens of this animal.
+	 */
+	public int animalCount(Animal animal) {
+		return animalCounts[animal.ordinal()];
+	}
+
+	/**
+	 * Checks if a token of the first animal is next to a token of the second one.
+	 * @param animal1 the first animal.
+	 * @param animal2 the second animal.
+	 * @return true if the two animals are adjacent on the board.
+	 */
+	public boolean animalsAdjacent(Animal animal1, Animal animal2) {
+		return animalAdjacency[animal1.ordinal()][animal2.ordinal()];
+	}
+
+	/**
+	 * Checks if the two habitats touch each other, on the same tile or between two tiles.
+	 * @param habitat1 the first habitat.
+	 * @param habitat2 the second habitat.
+	 * @return true if the two habitats are adjacent on the board.
+	 */
+	public boolean habitatsAdjacent(Habitat habitat1, Habitat habitat2) {
+		return habitatAdjacency[habitat1.ordinal()][habitat2.ordinal()];
+	}
+
+	/**
+	 * Getter of the remaining nature tokens.
+	 * @return the number of nature tokens left.
+	 */
+	public int natureTokens() {
+		return natureTokens;
+	}
+
+	/**
+	 * Getter of the nature tokens gained during the game.
+	 * @return the number of nature tokens gained.
+	 */
+	public int gainedNatureTokens() {
+		return gainedNatureTokens;
+	}
+
+	/**
+	 * Getter of the number of habitat majorities won.
+	 * @return the number of majorities.
+	 */
+	public int majorities() {
+		return majorities;
+	}
+
+	/**
+	 * Getter of the card used for an animal.
+	 * @param animal the animal.
+	 * @return the card used for this animal, or null if no fauna card was used.
+	 */
+	public CardType usedCard(Animal animal) {
+		return usedCards.get(animal);
+	}
+
+	/**
+	 * Checks if a card type was used for at least one animal.
+	 * @param card the card type.
+	 * @return true if one of the animals was scored with this card.
+	 */
+	public boolean usesCard(CardType card) {
+		return usedCards.containsValue(card);
+	}
+
+	/**
+	 * Counts the animals whose score reaches a minimum.
+	 * @param minPoints the minimum score.
+	 * @return the number of animals with at least {@code minPoints}.
+	 */
+	public int animalsWithAtLeast(int minPoints) {
+		int count = 0;
+		for (int points : animalScores) {
+			if (points >= minPoints) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Counts the habitats whose score reaches a minimum.
+	 * @param minPoints the minimum score.
+	 * @return the number of habitats with at least {@code minPoints}.
+	 */
+	public int habitatsWithAtLeast(int minPoints) {
+		int count = 0;
+		for (int points : habitatScores) {
+			if (points >= minPoints) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the biggest number of tokens of a single animal.
+	 * @return the maximum of the animal counts.
+	 */
+	public int maxAnimalCount() {
+		int max = 0;
+		for (int count : animalCounts) {
+			max = Math.max(max, count);
+		}
+		return max;
+	}
+}
@@ -0,0 +1,286 @@
+package fr.uge.cascadia.success;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * History of the achievements of every game, stored in a binary append only log
+ * of {@link AchievementRecord} and indexed in memory by player and by achievement.
+ *
+ * The log starts with an header (magic number, size of a record) followed by the records.
+ * As records have a fixed size, the index is rebuilt at startup with a single
+ * memory mapped read of the log, on a background thread started by {@link #preload()}.
+ * New records update the index immediately and are written in the background by the {@link AchievementWriter}.
+ * A record cut by a crash is removed from the end of the log when it is loaded, so that
+ * the next records are written at their place.
+ *
+ * The text files ({@code GameAchievements.txt}, {@code ScenarioAchievements.txt}) are still written
+ * for humans, and {@link #main(String[])} exports the whole log in the same format.
+ *
+ * @author massinissa
+ */
+public final class AchievementHistory {
+
+	/**
+	 * Name of the log of the game.
+	 */
+	public static final String FILE = "Achievements.bin";
+
+	/**
+	 * Magic number written at the beginning of the log ("CAAL").
+	 */
+	private static final int MAGIC = 0x4341414C;
+
+	/**
+	 * Size in bytes of the header (magic number + size of a record).
+	 */
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * Loading of the shared history, null before {@link #preload()}.
+	 */
+	private static CompletableFuture<AchievementHistory> shared;
+
+	private final String filename;
+
+	/**
+	 * Achievements completed by each player, one bitset by kind of achievement.
+	 */
+	private final Map<String, long[]> byPlayer = new HashMap<>();
+
+	/**
+	 * Players who completed each achievement, by kind then by ID.
+	 */
+	private final List<List<Set<String>>> byAchievement = new ArrayList<>();
+
+	private int recordCount;
+	private boolean headerWritten;
+
+	private AchievementHistory(String filename) {
+		this.filename = filename;
+		for (int kind = 0; kind < AchievementRecord.Kind.values().length; kind++) {
+			List<Set<String>> players = new ArrayList<>();
+			for (int id = 0; id <= AchievementRecord.MAX_ID; id++) {
+				players.add(new LinkedHashSet<>());
+			}
+			byAchievement.add(players);
+		}
+	}
+
+	/**
+	 * Starts loading the history of the game ({@link #FILE}) on a background thread,
+	 * so that the game thread does not read the log when the first achievements are stored.
+	 * Does nothing if the loading is already started.
+	 */
+	public static synchronized void preload() {
+		if (shared != null) return;
+		var future = new CompletableFuture<AchievementHistory>();
+		Thread.ofVirtual().name("achievement-history").start(() -> {
+			try {
+				future.complete(load(FILE));
+			} catch (RuntimeException e) {
+				future.completeExceptionally(e);
+			}
+		});
+		shared = future;
+	}
+
+	/**
+	 * Gets the history of the game ({@link #FILE}), waiting for the loading started by {@link #preload()}.
+	 *
+	 * @return the shared history.
+	 * @throws UncheckedIOException if the log exists but cannot be read.
+	 */
+	public static AchievementHistory shared() {
+		CompletableFuture<AchievementHistory> future;
+		synchronized (AchievementHistory.class) {
+			preload();
+			future = shared;
+		}
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			synchronized (AchievementHistory.class) {
+				if (shared == future) shared = null; // le prochain appel relit le journal
+			}
+			if (e.getCause() instanceof UncheckedIOException cause) throw cause;
+			throw e;
+		}
+	}
+
+	/**
+	 * Loads the history stored in a log and builds its index.
+	 * A missing log gives an empty history ; an incomplete last record is cut from the log.
+	 *
+	 * @param filename the name of the log.
+	 * @return the history.
+	 * @throws UncheckedIOException if the log exists but cannot be read or is not a log of achievements.
+	 */
+	public static AchievementHistory load(String filename) {
+		Objects.requireNonNull(filename);
+		AchievementHistory history = new AchievementHistory(filename);
+		truncateIncompleteRecord(Path.of(filename));
+		List<AchievementRecord> records = readRecords(Path.of(filename));
+		for (AchievementRecord record : records) {
+			history.index(record);
+		}
+		history.headerWritten = isNotEmpty(Path.of(filename));
+		return history;
+	}
+
+	/*
+	 * Une écriture interrompue laisse la fin d'un enregistrement : sans la couper, tous les
+	 * enregistrements ajoutés ensuite seraient décalés et perdus au prochain chargement.
+	 */
+	private static void truncateIncompleteRecord(Path log) {
+		if (!isNotEmpty(log)) return;
+		try (var channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+			long size = channel.size();
+			long complete = size < HEADER_SIZE ? 0 : size - (size - HEADER_SIZE) % AchievementRecord.SIZE;
+			if (complete != size) {
+				channel.truncate(complete);
+				System.err.println("Enregistrement incomplet retiré du journal " + log + " (" + (size - complete) + " octets)");
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erreur lors de la réparation du fichier " + log, e);
+		}
+	}
+
+	private static boolean isNotEmpty(Path log) {
+		try {
+			return Files.exists(log) && Files.size(log) > 0;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erreur lors de la lecture du fichier " + log, e);
+		}
+	}
+
+	private static List<AchievementRecord> readRecords(Path log) {
+		if (!isNotEmpty(log)) {
+			return List.of();
+		}
+		try (var channel = FileChannel.open(log, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != AchievementRecord.SIZE) {
+				throw new IOException("Journal de succès invalide : " + log);
+			}
+			int count = buffer.remaining() / AchievementRecord.SIZE;
+			List<AchievementRecord> records = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				records.add(AchievementRecord.decode(buffer));
+			}
+			return records;
+		} catch (IllegalArgumentException e) {
+			throw new UncheckedIOException(new IOException("Journal de succès invalide : " + log, e));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erreur lors de la lecture du fichier " + log, e);
+		}
+	}
+
+	private void index(AchievementRecord record) {
+		int kind = record.kind().ordinal();
+		long[] completed = byPlayer.computeIfAbsent(record.player(), player -> new long[AchievementRecord.Kind.values().length]);
+		completed[kind] |= record.achievements();
+		for (int id : record.achievementIds()) {
+			byAchievement.get(kind).get(id).add(record.player());
+		}
+		recordCount++;
+	}
+
+	/**
+	 * Adds a record to the history. The index is updated now, the log in the background.
+	 *
+	 * @param record the record to add.
+	 */
+	public synchronized void add(AchievementRecord record) {
+		Objects.requireNonNull(record);
+		index(record);
+		ByteBuffer buffer = ByteBuffer.allocate((headerWritten ? 0 : HEADER_SIZE) + AchievementRecord.SIZE);
+		if (!headerWritten) {
+			buffer.putInt(MAGIC).putInt(AchievementRecord.SIZE);
+			headerWritten = true;
+		}
+		record.encode(buffer);
+		AchievementWriter.submit(filename, buffer.array());
+	}
+
+	/**
+	 * Checks if a player has ever completed an achievement.
+	 *
+	 * @param player the name of the player.
+	 * @param kind   the kind of the achievement.
+	 * @param id     the ID of the achievement.
+	 * @return true if one of the records of the player contains the achievement.
+	 */
+	public synchronized boolean hasCompleted(String player, AchievementRecord.Kind kind, int id) {
+		Objects.requireNonNull(player);
+		Objects.requireNonNull(kind);
+		long[] completed = byPlayer.get(player);
+		return completed != null && id >= 0 && id <= AchievementRecord.MAX_ID && (completed[kind.ordinal()] & (1L << id)) != 0;
+	}
+
+	/**
+	 * Gets the players who completed an achievement at least once.
+	 *
+	 * @param kind the kind of the achievement.
+	 * @param id   the ID of the achievement.
+	 * @return the names of the players, in the order they first completed it.
+	 */
+	public synchronized Set<String> playersWith(AchievementRecord.Kind kind, int id) {
+		Objects.requireNonNull(kind);
+		if (id < 0 || id > AchievementRecord.MAX_ID) return Set.of();
+		return Collections.unmodifiableSet(new LinkedHashSet<>(byAchievement.get(kind.ordinal()).get(id)));
+	}
+
+	/**
+	 * Gets the number of records in the history.
+	 *
+	 * @return the number of records.
+	 */
+	public synchronized int size() {
+		return recordCount;
+	}
+
+	/**
+	 * Exports a log in text, in the format of the achievement files.
+	 * Records that are still waiting to be written are not part of the export.
+	 *
+	 * @param filename the name of the log.
+	 * @return the text of every record, in order.
+	 * @throws UncheckedIOException if the log cannot be read.
+	 */
+	public static String export(String filename) {
+		Objects.requireNonNull(filename);
+		Map<Integer, String> game = AchievementDefinitions.load("successNormal.txt");
+		Map<Integer, String> scenario = AchievementDefinitions.load("Scenarios.txt");
+		StringBuilder sb = new StringBuilder();
+		for (AchievementRecord record : readRecords(Path.of(filename))) {
+			sb.append(record.toText(record.kind() == AchievementRecord.Kind.GAME ? game : scenario));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Prints the text export of a log ({@link #FILE} by default).
+	 *
+	 * @param args the name of the log, optional.
+	 */
+	public static void main(String[] args) {
+		System.out.print(export(args.length == 0 ? FILE : args[0]));
+	}
+}
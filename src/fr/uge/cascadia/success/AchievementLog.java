@@ -0,0 +1,140 @@
+package fr.uge.cascadia.success;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append only file of achievement records ({@code GameAchievements.txt}, {@code ScenarioAchievements.txt},
+ * {@code Achievements.bin}).
+ *
+ * Records are kept in memory and written in batches through a single {@link FileChannel}
+ * opened once per file. A batch is written when it reaches {@link #BATCH_SIZE} bytes,
+ * when {@link #flush()} is called, and for every log when the JVM shuts down
+ * (see {@link AchievementWriter}, which feeds the logs from a background thread).
+ *
+ * @author massinissa
+ */
+public final class AchievementLog {
+
+	/**
+	 * Number of buffered bytes that triggers a write.
+	 */
+	static final int BATCH_SIZE = 16 * 1024;
+
+	/**
+	 * Open logs, by file.
+	 */
+	private static final Map<Path, AchievementLog> LOGS = new ConcurrentHashMap<>();
+
+	private final Path path;
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+	private FileChannel channel;
+
+	private AchievementLog(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * Gets the log of a file, shared by all the callers of the process.
+	 *
+	 * @param filename the name of the file to append to.
+	 * @return the log of this file.
+	 */
+	public static AchievementLog of(String filename) {
+		Objects.requireNonNull(filename);
+		return LOGS.computeIfAbsent(Path.of(filename).toAbsolutePath().normalize(), AchievementLog::new);
+	}
+
+	/**
+	 * Adds a text record at the end of the log, encoded in UTF-8. The record is written with the next batch.
+	 *
+	 * @param record the text to append.
+	 * @throws UncheckedIOException if a full batch cannot be written.
+	 */
+	public void append(String record) {
+		Objects.requireNonNull(record);
+		append(record.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Adds a binary record at the end of the log. The record is written with the next batch.
+	 *
+	 * @param record the bytes to append.
+	 * @throws UncheckedIOException if a full batch cannot be written.
+	 */
+	public synchronized void append(byte[] record) {
+		Objects.requireNonNull(record);
+		pending.writeBytes(record);
+		if (pending.size() >= BATCH_SIZE) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes the buffered records to the file.
+	 *
+	 * @throws UncheckedIOException if the records cannot be written.
+	 */
+	public synchronized void flush() {
+		if (pending.size() == 0) return;
+		ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+		try {
+			if (channel == null) {
+				channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			}
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erreur lors de l'écriture des succès dans le fichier " + path.getFileName(), e);
+		}
+		pending.reset();
+	}
+
+	/**
+	 * Writes the buffered records and closes the file. The log can still be used,
+	 * the file is opened again by the next write.
+	 *
+	 * @throws UncheckedIOException if the records cannot be written.
+	 */
+	public synchronized void close() {
+		flush();
+		if (channel == null) return;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erreur lors de la fermeture du fichier " + path.getFileName(), e);
+		} finally {
+			channel = null;
+		}
+	}
+
+	/**
+	 * Writes the buffered records of every log.
+	 */
+	public static void flushAll() {
+		LOGS.values().forEach(AchievementLog::flush);
+	}
+
+	/*
+	 * Appelée à l'arrêt de la JVM : une erreur sur un fichier ne doit pas empêcher d'écrire les autres.
+	 */
+	static void closeAll() {
+		for (AchievementLog log : LOGS.values()) {
+			try {
+				log.close();
+			} catch (UncheckedIOException e) {
+				System.err.println(e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,250 @@
+package fr.uge.cascadia.success;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.animal.CardType;
+import fr.uge.cascadia.tile.TileType;
+
+/**
+ * One entry of the binary achievements log : the achievements completed by the winner of a game.
+ *
+ * A record is stored on {@link #SIZE} bytes :
+ * <ul>
+ * <li>bytes 0-7 : date of the game, in milliseconds since the epoch</li>
+ * <li>byte 8 : kind of achievements ({@code Kind.ordinal()})</li>
+ * <li>byte 9 : mode of the game ({@code TileType.ordinal()}, or {@code NONE})</li>
+ * <li>byte 10 : scoring variant ({@code NONE} for fauna cards, 0 for famille, 1 for intermediaire)</li>
+ * <li>bytes 11-15 : card of each animal ({@code CardType.ordinal()} by {@code Animal.ordinal()}, or {@code NONE})</li>
+ * <li>bytes 16-17 : total score</li>
+ * <li>bytes 18-23 : reserved</li>
+ * <li>bytes 24-31 : completed achievements, bit {@code id} set for the achievement {@code id}</li>
+ * <li>bytes 32-63 : name of the player in UTF-8, padded with zeros</li>
+ * </ul>
+ *
+ * @param timestamp    the date of the game, in milliseconds since the epoch.
+ * @param kind         the file the achievements come from.
+ * @param player       the name of the player.
+ * @param mode         the mode of the game, or null if unknown.
+ * @param variant      the scoring variant, empty if the game used fauna cards.
+ * @param cards        the fauna cards of the game, empty if the game used a variant.
+ * @param score        the total score of the player.
+ * @param achievements the completed achievements, bit {@code id} set for the achievement {@code id}.
+ *
+ * @author massinissa
+ */
+public record AchievementRecord(long timestamp, Kind kind, String player, TileType mode, String variant,
+		Map<Animal, CardType> cards, int score, long achievements) {
+
+	/**
+	 * The two kinds of achievements.
+	 */
+	public enum Kind {
+		/**
+		 * Achievements of {@code successNormal.txt}.
+		 */
+		GAME,
+		/**
+		 * Achievements of {@code Scenarios.txt}.
+		 */
+		SCENARIO
+	}
+
+	/**
+	 * Size in bytes of one record.
+	 */
+	public static final int SIZE = 64;
+
+	/**
+	 * Greatest achievement ID that can be stored in a record.
+	 */
+	public static final int MAX_ID = Long.SIZE - 1;
+
+	private static final int NAME_OFFSET = 32;
+	private static final int NAME_SIZE = SIZE - NAME_OFFSET;
+	private static final byte NONE = (byte) 0xFF;
+	private static final List<String> VARIANTS = List.of("famille", "intermediaire");
+
+	/**
+	 * Creates a record.
+	 */
+	public AchievementRecord {
+		Objects.requireNonNull(kind);
+		Objects.requireNonNull(player);
+		Objects.requireNonNull(variant);
+		cards = cards.isEmpty() ? Map.of() : Collections.unmodifiableMap(new EnumMap<>(cards));
+	}
+
+	/**
+	 * Creates the record of achievements checked at the end of a game.
+	 *
+	 * @param kind       the file the achievements come from.
+	 * @param player     the name of the player.
+	 * @param gameMode   the mode of the game (name of a {@link TileType}).
+	 * @param variant    the scoring variant, empty if the game used fauna cards.
+	 * @param cards      the fauna cards of the game, empty if the game used a variant.
+	 * @param score      the total score of the player.
+	 * @param successes  the completed achievements in the format "ID - Description".
+	 * @return the record, dated now.
+	 * @throws IllegalArgumentException if an achievement ID is greater than {@link #MAX_ID}.
+	 */
+	public static AchievementRecord of(Kind kind, String player, String gameMode, String variant,
+			Map<Animal, CardType> cards, int score, List<String> successes) {
+		Objects.requireNonNull(gameMode);
+		Objects.requireNonNull(successes);
+		long achievements = 0;
+		for (String success : successes) {
+			int id = Integer.parseInt(success.substring(0, success.indexOf(' ')));
+			if (id < 0 || id > MAX_ID) {
+				throw new IllegalArgumentException("Identifiant de succès trop grand : " + id);
+			}
+			achievements |= 1L << id;
+		}
+		TileType mode = null;
+		for (TileType type : TileType.values()) {
+			if (type.toString().equals(gameMode)) mode = type;
+		}
+		return new AchievementRecord(System.currentTimeMillis(), kind, player, mode, variant, cards, score, achievements);
+	}
+
+	/**
+	 * Checks if an achievement was completed.
+	 *
+	 * @param id the ID of the achievement.
+	 * @return true if the achievement is in this record.
+	 */
+	public boolean hasAchievement(int id) {
+		return id >= 0 && id <= MAX_ID && (achievements & (1L << id)) != 0;
+	}
+
+	/**
+	 * Gets the IDs of the completed achievements.
+	 *
+	 * @return the IDs, in increasing order.
+	 */
+	public List<Integer> achievementIds() {
+		List<Integer> ids = new ArrayList<>();
+		for (long bits = achievements; bits != 0; bits &= bits - 1) {
+			ids.add(Long.numberOfTrailingZeros(bits));
+		}
+		return ids;
+	}
+
+	/**
+	 * Writes the record at the position of a buffer.
+	 *
+	 * @param buffer the destination, with at least {@link #SIZE} bytes remaining.
+	 */
+	public void encode(ByteBuffer buffer) {
+		Objects.requireNonNull(buffer);
+		int start = buffer.position();
+		buffer.putLong(timestamp);
+		buffer.put((byte) kind.ordinal());
+		buffer.put(mode == null ? NONE : (byte) mode.ordinal());
+		buffer.put(variant.isEmpty() ? NONE : (byte) VARIANTS.indexOf(variant));
+		for (Animal animal : Animal.values()) {
+			CardType card = cards.get(animal);
+			buffer.put(card == null ? NONE : (byte) card.ordinal());
+		}
+		buffer.putShort((short) score);
+		buffer.position(start + 24);
+		buffer.putLong(achievements);
+		byte[] name = truncatedName();
+		buffer.put(name);
+		buffer.put(new byte[NAME_SIZE - name.length]);
+	}
+
+	/*
+	 * Coupe le nom à 32 octets sans couper un caractère en deux.
+	 */
+	private byte[] truncatedName() {
+		byte[] name = player.getBytes(StandardCharsets.UTF_8);
+		if (name.length <= NAME_SIZE) return name;
+		int length = NAME_SIZE;
+		while ((name[length] & 0xC0) == 0x80) length--;
+		byte[] truncated = new byte[length];
+		System.arraycopy(name, 0, truncated, 0, length);
+		return truncated;
+	}
+
+	/**
+	 * Reads a record at the position of a buffer.
+	 *
+	 * @param buffer the source, with at least {@link #SIZE} bytes remaining.
+	 * @return the record.
+	 * @throws IllegalArgumentException if the bytes are not a valid record.
+	 */
+	public static AchievementRecord decode(ByteBuffer buffer) {
+		Objects.requireNonNull(buffer);
+		try {
+			int start = buffer.position();
+			long timestamp = buffer.getLong();
+			Kind kind = Kind.values()[buffer.get()];
+			byte modeByte = buffer.get();
+			TileType mode = modeByte == NONE ? null : TileType.values()[modeByte];
+			byte variantByte = buffer.get();
+			String variant = variantByte == NONE ? "" : VARIANTS.get(variantByte);
+			Map<Animal, CardType> cards = new EnumMap<>(Animal.class);
+			for (Animal animal : Animal.values()) {
+				byte card = buffer.get();
+				if (card != NONE) cards.put(animal, CardType.values()[card]);
+			}
+			int score = buffer.getShort();
+			buffer.position(start + 24);
+			long achievements = buffer.getLong();
+			byte[] name = new byte[NAME_SIZE];
+			buffer.get(name);
+			int length = 0;
+			while (length < NAME_SIZE && name[length] != 0) length++;
+			return new AchievementRecord(timestamp, kind, new String(name, 0, length, StandardCharsets.UTF_8),
+					mode, variant, cards, score, achievements);
+		} catch (IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Enregistrement de succès invalide", e);
+		}
+	}
+
+	/**
+	 * Gets the record in the same text format as the achievement files.
+	 *
+	 * @param definitions the descriptions of the achievements of this kind, by ID.
+	 * @return the text of the record.
+	 */
+	public String toText(Map<Integer, String> definitions) {
+		Objects.requireNonNull(definitions);
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+		StringBuilder sb = new StringBuilder();
+		sb.append("=== Succès enregistrés le : ")
+		.append(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).format(formatter)).append(" ===\n");
+		sb.append("Nom du joueur : ").append(player).append("\n");
+		sb.append("Mode du jeu : ").append(mode == null ? "?" : mode).append("\n");
+		sb.append("Type de succès : ").append(kind).append("\n");
+		if (variant.isEmpty()) {
+			sb.append("Cartes utilisées pour le calcul des scores : \n");
+			cards.forEach((animal, card) -> sb.append("  - ").append(animal).append(": ").append(card).append("\n"));
+		} else {
+			sb.append("Carte utilisée pour tous les animaux : ").append(variant).append("\n");
+		}
+		sb.append("Score total : ").append(score).append("\n");
+		sb.append("Succès atteints :\n");
+		List<Integer> ids = achievementIds();
+		if (ids.isEmpty()) {
+			sb.append("  Aucun succès atteint.\n");
+		}
+		for (int id : ids) {
+			sb.append("  - ").append(id).append(" - ").append(definitions.getOrDefault(id, "?")).append("\n");
+		}
+		sb.append("===============================================\n\n");
+		return sb.toString();
+	}
+}
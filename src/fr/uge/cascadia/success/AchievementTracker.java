@@ -0,0 +1,173 @@
+package fr.uge.cascadia.success;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import fr.uge.cascadia.Player;
+import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.animal.CardType;
+import fr.uge.cascadia.score.FaunaScoring;
+import fr.uge.cascadia.score.ScoringStrategy;
+import fr.uge.cascadia.score.VariantScoring;
+import fr.uge.cascadia.success.AchievementFeatures.Feature;
+
+/**
+ * Follows the progress of every player toward the achievements of {@code successNormal.txt}
+ * (and {@code Scenarios.txt} when the game uses fauna cards) during the game.
+ *
+ * The tracker is updated after each turn. The score of the player is recalculated first, which only
+ * recomputes the animals and habitats modified by the turn, the other features are read from the
+ * counters the board keeps up to date at each placement (animals, contacts, nature tokens).
+ * Only the rules reading a feature changed by the turn are evaluated again.
+ *
+ * @author massinissa
+ */
+public final class AchievementTracker {
+
+	/**
+	 * The progress of a player toward one achievement.
+	 *
+	 * @param kind        the file of the achievement.
+	 * @param id          the ID of the achievement.
+	 * @param description the description of the achievement.
+	 * @param value       the progress, between 0 and 1.
+	 * @param completed   true if the achievement is fulfilled now.
+	 */
+	public record Progress(AchievementRecord.Kind kind, int id, String description, double value, boolean completed) {
+
+		/**
+		 * Creates a progress.
+		 */
+		public Progress {
+			Objects.requireNonNull(kind);
+			Objects.requireNonNull(description);
+		}
+
+		@Override
+		public String toString() {
+			return id + " - " + description + " : " + Math.round(value * 100) + "%";
+		}
+	}
+
+	/*
+	 * Caractéristiques lues à la dernière mise à jour d'un joueur et progression qui en découle.
+	 */
+	private record State(AchievementFeatures features, List<Progress> progress) {}
+
+	private final ScoringStrategy scoringStrategy;
+	private final List<AchievementEngine.Rule> gameRules;
+	private final List<AchievementEngine.Rule> scenarioRules;
+	private final Map<Animal, CardType> usedCards;
+	private final Map<Player, State> states = new HashMap<>();
+
+	/**
+	 * Creates a tracker for the players of a game and computes their initial progress.
+	 *
+	 * @param players         the players of the game.
+	 * @param scoringStrategy the scoring strategy of the game.
+	 */
+	public AchievementTracker(List<Player> players, ScoringStrategy scoringStrategy) {
+		Objects.requireNonNull(players);
+		this.scoringStrategy = Objects.requireNonNull(scoringStrategy);
+		this.gameRules = AchievementDefinitions.rules(AchievementRecord.Kind.GAME);
+		switch (scoringStrategy) {
+		case FaunaScoring faunaScoring -> {
+			this.usedCards = faunaScoring.getAnimalCardMap();
+			this.scenarioRules = AchievementDefinitions.rules(AchievementRecord.Kind.SCENARIO);
+		}
+		case VariantScoring variantScoring -> {
+			this.usedCards = Map.of();
+			this.scenarioRules = List.of();
+		}
+		}
+		for (Player player : players) {
+			update(player);
+		}
+	}
+
+	/**
+	 * Updates the progress of a player, usually at the end of their turn.
+	 * The score of the player is recalculated, without the bonus of the majorities which are
+	 * only known at the end of the game.
+	 *
+	 * @param player the player.
+	 * @return the achievements fulfilled since the previous update of this player.
+	 */
+	public synchronized List<Progress> update(Player player) {
+		Objects.requireNonNull(player);
+		try {
+			player.setScoringStrategy(scoringStrategy);
+			player.calculateScore();
+		} catch (RuntimeException e) {
+			System.err.println("Score de " + player.getName() + " non calculé : " + e.getMessage());
+			return List.of();
+		}
+		AchievementFeatures features = AchievementFeatures.extract(player, usedCards);
+		State previous = states.get(player);
+		Set<Feature> changed = previous == null ? EnumSet.allOf(Feature.class) : features.changedSince(previous.features());
+		List<Progress> current = new ArrayList<>(gameRules.size() + scenarioRules.size());
+		evaluate(AchievementRecord.Kind.GAME, gameRules, features, changed, previous, current);
+		evaluate(AchievementRecord.Kind.SCENARIO, scenarioRules, features, changed, previous, current);
+		List<Progress> reached = new ArrayList<>();
+		if (previous != null) {
+			for (int i = 0; i < current.size(); i++) {
+				if (current.get(i).completed() && !previous.progress().get(i).completed()) {
+					reached.add(current.get(i));
+				}
+			}
+		}
+		states.put(player, new State(features, List.copyOf(current)));
+		return reached;
+	}
+
+	/*
+	 * Une règle qui ne lit aucune caractéristique modifiée garde sa progression précédente.
+	 */
+	private static void evaluate(AchievementRecord.Kind kind, List<AchievementEngine.Rule> rules, AchievementFeatures features,
+			Set<Feature> changed, State previous, List<Progress> destination) {
+		for (AchievementEngine.Rule rule : rules) {
+			if (previous != null && !rule.goal().readsAny(changed)) {
+				destination.add(previous.progress().get(destination.size()));
+				continue;
+			}
+			destination.add(new Progress(kind, rule.id(), rule.description(), rule.progress(features), rule.test(features)));
+		}
+	}
+
+	/**
+	 * Gets the progress of a player computed by the last update.
+	 *
+	 * @param player the player.
+	 * @return the progress toward every achievement, game achievements first, or an empty list for an unknown player.
+	 */
+	public synchronized List<Progress> progressOf(Player player) {
+		Objects.requireNonNull(player);
+		State state = states.get(player);
+		return state == null ? List.of() : state.progress();
+	}
+
+	/**
+	 * Gets the achievements a player is the closest to fulfill, to show them during the game.
+	 *
+	 * @param player the player.
+	 * @param count  the maximum number of achievements.
+	 * @return the achievements not fulfilled yet with the highest progress, the most advanced first.
+	 */
+	public synchronized List<Progress> closestOf(Player player, int count) {
+		Objects.requireNonNull(player);
+		if (count < 0) {
+			throw new IllegalArgumentException("Nombre de succès négatif : " + count);
+		}
+		return progressOf(player).stream()
+				.filter(progress -> !progress.completed() && progress.value() > 0)
+				.sorted(Comparator.comparingDouble(Progress::value).reversed())
+				.limit(count)
+				.toList();
+	}
+}
@@ -0,0 +1,148 @@
+package fr.uge.cascadia.success;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Background writer of the achievement records.
+ *
+ * The game thread only puts the records in a bounded queue ; a virtual thread takes them
+ * in order and appends them to their {@link AchievementLog}, then writes the batch to the
+ * files as soon as the queue is empty. When the queue is full, {@code submit}
+ * waits for the writer, so a fast game loop cannot use an unbounded amount of memory.
+ *
+ * At shutdown, the records still in the queue are written and every log is closed.
+ * A record submitted during or after the shutdown is written directly by its caller :
+ * submitting and shutting down take the same lock, so no record is put in the queue
+ * once the writer has stopped reading it.
+ *
+ * @author massinissa
+ */
+public final class AchievementWriter {
+
+	/**
+	 * Maximum number of records waiting to be written.
+	 */
+	static final int CAPACITY = 256;
+
+	private record Entry(AchievementLog log, byte[] record) {}
+
+	/**
+	 * Marks the end of the queue for the writer thread.
+	 */
+	private static final Entry STOP = new Entry(null, null);
+
+	private static final BlockingQueue<Entry> QUEUE = new ArrayBlockingQueue<>(CAPACITY);
+
+	/**
+	 * Held to put a record in the queue and to shut the writer down.
+	 * A lock rather than synchronized : a virtual thread waiting for room in the queue does not pin its carrier.
+	 */
+	private static final ReentrantLock LOCK = new ReentrantLock();
+
+	private static boolean closed; // protégé par LOCK
+
+	private static final Thread WORKER = Thread.ofVirtual().name("achievement-writer").start(AchievementWriter::run);
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(AchievementWriter::drain, "achievement-writer-drain"));
+	}
+
+	private AchievementWriter() {
+		// utility class
+	}
+
+	/**
+	 * Asks for a record to be appended to a file. Records are written in the order
+	 * they are submitted, whatever their file.
+	 * Waits if too many records are already waiting.
+	 *
+	 * @param filename the name of the file to append to.
+	 * @param record   the text to append.
+	 */
+	public static void submit(String filename, String record) {
+		Objects.requireNonNull(record);
+		submit(filename, record.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Asks for a binary record to be appended to a file, in the same order as the text records.
+	 * Waits if too many records are already waiting.
+	 *
+	 * @param filename the name of the file to append to.
+	 * @param record   the bytes to append (not copied, must not be modified afterwards).
+	 */
+	public static void submit(String filename, byte[] record) {
+		Objects.requireNonNull(filename);
+		Objects.requireNonNull(record);
+		Entry entry = new Entry(AchievementLog.of(filename), record);
+		LOCK.lock();
+		try {
+			if (closed) { // la JVM s'arrête, plus personne ne lit la file
+				write(entry);
+				entry.log().flush();
+				return;
+			}
+			QUEUE.put(entry); // le writer lit la file tant que closed est faux : la place finit par se libérer
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			write(entry); // on ne perd pas le succès, on l'écrit directement
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	private static void run() {
+		try {
+			for (;;) {
+				Entry entry = QUEUE.take();
+				if (entry == STOP) return;
+				write(entry);
+				if (QUEUE.isEmpty()) {
+					try {
+						AchievementLog.flushAll();
+					} catch (UncheckedIOException e) {
+						System.err.println(e.getMessage()); // le writer doit continuer à vider la file
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			// arrêt du writer, drain() écrit ce qui reste
+		}
+	}
+
+	private static void write(Entry entry) {
+		try {
+			entry.log().append(entry.record());
+		} catch (UncheckedIOException e) {
+			System.err.println(e.getMessage());
+		}
+	}
+
+	/*
+	 * Appelée à l'arrêt de la JVM : attend que le writer ait vidé la file,
+	 * écrit les éventuels retardataires puis ferme les fichiers.
+	 */
+	private static void drain() {
+		LOCK.lock();
+		try {
+			closed = true;
+			try {
+				QUEUE.put(STOP);
+				WORKER.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			for (Entry entry; (entry = QUEUE.poll()) != null;) {
+				if (entry != STOP) write(entry);
+			}
+			AchievementLog.closeAll();
+		} finally {
+			LOCK.unlock();
+		}
+	}
+}
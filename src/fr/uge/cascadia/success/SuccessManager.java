@@ -1,13 +1,8 @@
 package fr.uge.cascadia.success;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -23,7 +18,8 @@ import fr.uge.cascadia.score.VariantScoring;
  * 
  * This interface is designed to handle success-related operations, such as:
  * - Checking achievements based on predefined success maps.
- * - Reading and writing success data to/from files.
+ * - Reading and writing success data to/from files (definitions are cached, records are written in batches).
+ * - Keeping the history of the achievements in a binary log ({@link AchievementHistory}).
  * - Building detailed logs of player successes.
  */
 
@@ -40,6 +36,13 @@ public sealed interface SuccessManager permits ScenarioSuccess, GameSuccess {
 	 */
 	List<String> checkSuccesses(Map<Integer, String> successMap);
 
+	/**
+	 * Gets the kind of the achievements checked by this manager.
+	 *
+	 * @return the kind of achievements, the only one this manager stores.
+	 */
+	AchievementRecord.Kind kind();
+
 
 
 
@@ -50,6 +53,7 @@ public sealed interface SuccessManager permits ScenarioSuccess, GameSuccess {
 
 	/**
 	 * Stores the achievements of the winning player into a file, based on the game mode and scoring strategy.
+	 * Only the achievements of the {@link #kind()} of this manager are stored.
 	 *
 	 * @param gameMode        The game mode (e.g., graphical or terminal).
 	 * @param scoringStrategy The scoring strategy used in the game.
@@ -59,18 +63,30 @@ public sealed interface SuccessManager permits ScenarioSuccess, GameSuccess {
 		Objects.requireNonNull(gameMode); 
 		Objects.requireNonNull(winner); 
 		Objects.requireNonNull(scoringStrategy); 
-		Map<Integer, String> successMap = readSuccessMapFromFile("successNormal.txt");
-		Map<Integer, String> scenarioMap = readSuccessMapFromFile("Scenarios.txt");
-		switch (scoringStrategy) {
-		case FaunaScoring coringStrategy-> {
-			writeSuccessesToFile("ScenarioAchievements.txt", scenarioMap, gameMode, scoringStrategy, winner);
-
-		}
-		default -> {}
+		AchievementRecord.Kind kind = kind();
+		String filename = switch (kind) {
+		case GAME -> "GameAchievements.txt";
+		case SCENARIO -> "ScenarioAchievements.txt";
+		};
+		// un seul type par gestionnaire : ses succès ont été vérifiés avec les règles de ce type
+		storeSuccesses(filename, kind, AchievementDefinitions.load(AchievementDefinitions.fileOf(kind)), gameMode, scoringStrategy, winner);
+	}
 
+	/*
+	 * Écrit les succès dans le fichier texte et les ajoute à l'historique binaire (AchievementHistory).
+	 */
+	private void storeSuccesses(String filename, AchievementRecord.Kind kind, Map<Integer, String> successMap, String gameMode, ScoringStrategy scoringStrategy, Player player) {
+		List<String> successes = checkSuccesses(successMap);
+		AchievementWriter.submit(filename, buildSuccessFileContent(successes, gameMode, scoringStrategy, player));
+		AchievementRecord record = switch (scoringStrategy) {
+		case FaunaScoring faunaScoring -> AchievementRecord.of(kind, player.getName(), gameMode, "", faunaScoring.getAnimalCardMap(), player.getScore().getTotalPoints(), successes);
+		case VariantScoring variantScoring -> AchievementRecord.of(kind, player.getName(), gameMode, variantScoring.variant(), Map.of(), player.getScore().getTotalPoints(), successes);
+		};
+		try {
+			AchievementHistory.shared().add(record);
+		} catch (UncheckedIOException e) {
+			System.err.println(e.getMessage());
 		}
-
-		writeSuccessesToFile("GameAchievements.txt",successMap , gameMode, scoringStrategy, winner);
 	}
 
 
@@ -83,46 +99,27 @@ public sealed interface SuccessManager permits ScenarioSuccess, GameSuccess {
 
 	/**
 	 * Reads a success map from a file and parses it into a {@code Map<Integer, String>}.
+	 * The file is only read once per process, see {@link AchievementDefinitions}.
 	 *
 	 * @param filename The name of the file containing the success map.
-	 * @return A map of success IDs and descriptions.
+	 * @return A read only map of success IDs and descriptions.
 	 */
 
 	default Map<Integer, String> readSuccessMapFromFile(String filename) {
 		Objects.requireNonNull(filename); 
-
-		try {
-			List<String> lines = Files.readAllLines(Path.of(filename)); 
-			return parseSuccessMap(lines);
-		} catch (IOException e) {
-			throw new UncheckedIOException("Erreur lors de la lecture du fichier " + filename, e);
-		}
-	}
-
-	private Map<Integer, String> parseSuccessMap(List<String> lines) {
-		Map<Integer, String> successMap = new HashMap<>();
-		for (String line : lines) {
-			line = line.trim();
-			if (line.isEmpty()) continue;
-
-			String[] parts = line.split(" ", 2);
-			int id = Integer.parseInt(parts[0]);
-			String description = parts[1];
-			successMap.put(id, description);
-		}
-		return successMap;
+		return AchievementDefinitions.load(filename);
 	}
 
 
 	/**
 	 * Writes the achievements of a player to a file.
+	 * The record is built on the calling thread, then written in the background, see {@link AchievementWriter}.
 	 *
 	 * @param filename       the name of the final we rite in 
 	 * @param successMap      A map of success IDs and descriptions.
 	 * @param gameMode       graphical or terminal
 	 * @param scoringStrategy The scoring strategy used in the game.
 	 * @param player          The player whose achievements are being recorded.
-	 * @throws UncheckedIOException If an error occurs while writing to the file.
 	 */
 	default void writeSuccessesToFile(String filename, Map<Integer, String> successMap, String gameMode, ScoringStrategy scoringStrategy, Player player) {
 		Objects.requireNonNull(filename, "Le nom du fichier ne peut pas être null.");
@@ -131,19 +128,15 @@ public sealed interface SuccessManager permits ScenarioSuccess, GameSuccess {
 		Objects.requireNonNull(scoringStrategy, "La stratégie de scoring ne peut pas être null.");
 		Objects.requireNonNull(player, "Le joueur ne peut pas être null.");
 
-		try {
-			String content = buildSuccessFileContent(successMap, gameMode, scoringStrategy, player);
-			Files.writeString(Path.of(filename), content , StandardOpenOption.APPEND, StandardOpenOption.CREATE); 
-		} catch (IOException e) {
-			throw new UncheckedIOException("Erreur lors de l'écriture des succès dans le fichier " + filename, e);
-		}
+		String content = buildSuccessFileContent(checkSuccesses(successMap), gameMode, scoringStrategy, player);
+		AchievementWriter.submit(filename, content);
 	}
 
-	private String buildSuccessFileContent(Map<Integer, String> successMap, String gameMode, ScoringStrategy scoringStrategy, Player player) {
+	private String buildSuccessFileContent(List<String> successes, String gameMode, ScoringStrategy scoringStrategy, Player player) {
 		StringBuilder sb = new StringBuilder();
 		appendHeader(sb);
 		appendPlayerInfo(sb, player, gameMode, scoringStrategy);
-		appendSuccesses(sb, successMap, player);
+		appendSuccesses(sb, successes);
 		appendFooter(sb);
 		return sb.toString();
 	}
@@ -155,8 +148,7 @@ public sealed interface SuccessManager permits ScenarioSuccess, GameSuccess {
 
 
 
-	private void appendSuccesses(StringBuilder sb, Map<Integer, String> successMap, Player player) {
-		List<String> successes = checkSuccesses(successMap);
+	private void appendSuccesses(StringBuilder sb, List<String> successes) {
 		sb.append("Succès atteints :\n");
 		if (successes.isEmpty()) {
 			sb.append("  Aucun succès atteint.\n");
@@ -174,6 +174,15 @@ public final class HexagoTile implements Tile {
 		return assignedAnimalToken != null;
 	}
 
+	@Override
+	public HexagoTile copy() {
+		var copy = new HexagoTile(habitats, compatibleAnimals);
+		copy.assignedAnimalToken = assignedAnimalToken;
+		copy.rotationIndex = rotationIndex;
+		copy.rotatedHabitats = rotatedHabitats;
+		return copy;
+	}
+
 
 
 	@Override
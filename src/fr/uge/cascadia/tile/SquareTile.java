@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import fr.uge.cascadia.animal.Animal;
 import fr.uge.cascadia.animal.AnimalToken;
@@ -46,22 +47,39 @@ public final class SquareTile implements Tile {
 	 */
 	
 	public SquareTile(Habitat habitat) {
+		this(habitat, ThreadLocalRandom.current());
+	}
+
+	/**
+	 * creates a square tile with a given habitat, its animals are drawn with the given generator.
+	 * 
+	 * @param habitat The habitat associated with the tile.
+	 * @param random  The generator choosing the compatible animals.
+	 */
+	public SquareTile(Habitat habitat, RandomGenerator random) {
 		Objects.requireNonNull(habitat);
+		Objects.requireNonNull(random);
 		this.habitat = habitat;
-		this.compatibleAnimals = createCompatibleAnimals();
+		this.compatibleAnimals = createCompatibleAnimals(random);
+	}
+
+	private SquareTile(Habitat habitat, List<Animal> compatibleAnimals) {
+		this.habitat = habitat;
+		this.compatibleAnimals = compatibleAnimals; // les animaux sont tirés au hasard : la copie garde les mêmes
 	}
 
 	
 	/**
 	 * Creates a list of two random animals compatible with this tile.
 	 * 
+	 * @param random The generator choosing the animals.
 	 * @return A list containing two different random animals.
 	 */
-	private List<Animal> createCompatibleAnimals() {
+	private static List<Animal> createCompatibleAnimals(RandomGenerator random) {
 		Animal[] animals = Animal.values();
 		List<Animal> selectedAnimals = new ArrayList<>();
 		while (selectedAnimals.size() < 2) {
-			Animal randomAnimal = animals[ThreadLocalRandom.current().nextInt(animals.length)];
+			Animal randomAnimal = animals[random.nextInt(animals.length)];
 			if (!selectedAnimals.contains(randomAnimal)) {
 				selectedAnimals.add(randomAnimal);
 			}
@@ -101,6 +119,13 @@ public final class SquareTile implements Tile {
 		return assignedAnimalToken != null;
 	}
 
+	@Override
+	public SquareTile copy() {
+		var copy = new SquareTile(habitat, compatibleAnimals);
+		copy.assignedAnimalToken = assignedAnimalToken;
+		return copy;
+	}
+
 
 	@Override
 	public boolean hasNatureIcon() {
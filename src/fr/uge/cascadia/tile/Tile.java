@@ -11,6 +11,9 @@ import java.nio.file.Path;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 
 
@@ -55,6 +58,14 @@ public sealed interface Tile permits HexagoTile, SquareTile {
 
 	public boolean hasAnimalToken();
 
+	/**
+	 * Copies the tile with its token and its rotation, to simulate moves without modifying it.
+	 * The copy is a different tile : tiles are compared by identity.
+	 *
+	 * @return a copy of the tile.
+	 */
+	public Tile copy();
+
 	/**
 	 * Creates a bag of tiles based on the specified tile type.
 	 *
@@ -62,17 +73,30 @@ public sealed interface Tile permits HexagoTile, SquareTile {
 	 * @return A list of {@link Tile} objects, shuffled and ready for gameplay.
 	 */
 	public static List<Tile> createTileBag(TileType type) {
+		return createTileBag(type, ThreadLocalRandom.current());
+	}
+
+	/**
+	 * Creates a bag of tiles based on the specified tile type, drawn with the given generator :
+	 * the same seed gives the same bag.
+	 *
+	 * @param type   The type of the tile to create, either square or hexagonal.
+	 * @param random The generator used to create and shuffle the tiles.
+	 * @return A list of {@link Tile} objects, shuffled and ready for gameplay.
+	 */
+	public static List<Tile> createTileBag(TileType type, RandomGenerator random) {
+		Objects.requireNonNull(random);
 		List<Tile> tileBag;
 
 		if (type == TileType.Square) {
-			tileBag = createSquareTileBag();
+			tileBag = createSquareTileBag(random);
 		} else if (type == TileType.Hexagonal) {
 			tileBag = createHexagonalTileBag("hexagoTilesFile.txt");
 		} else {
 			throw new IllegalArgumentException("Unsupported tile type: " + type); 
 		}
 
-		Collections.shuffle(tileBag); //on mélange le sac
+		Collections.shuffle(tileBag, random); //on mélange le sac
 		return tileBag;
 	}
 
@@ -80,16 +104,17 @@ public sealed interface Tile permits HexagoTile, SquareTile {
 	 * Creates a bag of square tiles.
 	 * Each habitat type is equally represented, ensuring even distribution.
 	 *
+	 * @param random The generator choosing the animals of the tiles.
 	 * @return A list of square {@link Tile} objects.
 	 */
-	private static List<Tile> createSquareTileBag() {
+	private static List<Tile> createSquareTileBag(RandomGenerator random) {
 		List<Tile> tileBag = new ArrayList<>();
 		Habitat[] habitats = Habitat.values();
 		int tilesPerHabitat = 100 / habitats.length;
 
 		for (Habitat habitat : habitats) {
 			for (int i = 0; i < tilesPerHabitat; i++) {
-				tileBag.add(new SquareTile(habitat));
+				tileBag.add(new SquareTile(habitat, random));
 			}
 		}
 
@@ -98,12 +123,31 @@ public sealed interface Tile permits HexagoTile, SquareTile {
 
 	/**
 	 * Creates a bag of hexagonal tiles from a file.
+	 * The precompiled binary catalog of the file is used when it is up to date,
+	 * otherwise the text file is parsed.
 	 *
 	 * @param filePath The file containing tile data.
 	 * @return A list of hexagonal {@link Tile} objects.
 	 */
 
 	public static List<Tile> createHexagonalTileBag(String filePath) {
+		if (TileCatalog.isUpToDate(filePath)) {
+			try {
+				return TileCatalog.read(TileCatalog.catalogPathOf(filePath));
+			} catch (IOException e) {
+				System.err.println("Catalogue ignoré, lecture du fichier texte : " + e.getMessage());
+			}
+		}
+		return parseHexagonalTileFile(filePath);
+	}
+
+	/**
+	 * Parses a text file describing hexagonal tiles, one tile per line.
+	 *
+	 * @param filePath The file containing tile data.
+	 * @return A list of hexagonal {@link Tile} objects, in the order of the file.
+	 */
+	public static List<Tile> parseHexagonalTileFile(String filePath) {
 		List<Tile> tileBag = new ArrayList<>();
 		try {
 			List<String> lines = Files.readAllLines(Path.of(filePath)); 
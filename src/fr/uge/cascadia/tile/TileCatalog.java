@@ -0,0 +1,218 @@
+package fr.uge.cascadia.tile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import fr.uge.cascadia.animal.Animal;
+
+/**
+ * Precompiled binary catalog of hexagonal tiles.
+ *
+ * The catalog is generated once from the text files ({@code hexagoTilesFile.txt},
+ * {@code initialTiles.txt}) by the {@code catalog} Ant target, and is then loaded
+ * at startup with a single memory mapped read instead of parsing strings.
+ *
+ * Layout : an header (magic number, record count) followed by one fixed-width
+ * record per tile :
+ * <ul>
+ * <li>byte 0 : ordinal of the first habitat</li>
+ * <li>byte 1 : ordinal of the second habitat, or {@code NO_HABITAT}</li>
+ * <li>byte 2 : number of compatible animals</li>
+ * <li>bytes 3 to 7 : ordinals of the compatible animals in the order of the text file,
+ * padded with {@code NO_ANIMAL}</li>
+ * <li>byte 8 : flags ({@code NATURE_ICON}), checked against the tile read</li>
+ * </ul>
+ *
+ * @author massinissa
+ */
+public final class TileCatalog {
+
+	/**
+	 * Magic number written at the beginning of every catalog ("CAS2"), the catalogs of an older layout are ignored.
+	 */
+	private static final int MAGIC = 0x43415332;
+
+	/**
+	 * Size in bytes of the header (magic number + number of records).
+	 */
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * Maximum number of animals of a tile.
+	 */
+	private static final int MAX_ANIMALS = Animal.values().length;
+
+	/**
+	 * Size in bytes of one tile record.
+	 */
+	static final int RECORD_SIZE = 4 + MAX_ANIMALS;
+
+	/**
+	 * Value of the second habitat byte for tiles with a single habitat.
+	 */
+	private static final byte NO_HABITAT = (byte) 0xFF;
+
+	/**
+	 * Value of the unused animal bytes.
+	 */
+	private static final byte NO_ANIMAL = (byte) 0xFF;
+
+	/**
+	 * Flag set when the tile carries a nature icon.
+	 */
+	private static final byte NATURE_ICON = 0x01;
+
+	private TileCatalog() {
+		// utility class
+	}
+
+	/**
+	 * Returns the path of the binary catalog associated to a text tile file
+	 * ({@code hexagoTilesFile.txt} gives {@code hexagoTilesFile.bin}).
+	 *
+	 * @param textFile the text file describing the tiles.
+	 * @return the path of the corresponding catalog.
+	 */
+	public static Path catalogPathOf(String textFile) {
+		Objects.requireNonNull(textFile);
+		int dot = textFile.lastIndexOf('.');
+		String base = dot == -1 ? textFile : textFile.substring(0, dot);
+		return Path.of(base + ".bin");
+	}
+
+	/**
+	 * Checks if an up to date catalog exists for the given text file,
+	 * which means the catalog is present and not older than the text file.
+	 *
+	 * @param textFile the text file describing the tiles.
+	 * @return true if the catalog can be used instead of the text file.
+	 */
+	public static boolean isUpToDate(String textFile) {
+		Objects.requireNonNull(textFile);
+		Path catalog = catalogPathOf(textFile);
+		try {
+			return Files.exists(catalog)
+					&& Files.getLastModifiedTime(catalog).compareTo(Files.getLastModifiedTime(Path.of(textFile))) >= 0;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Writes a list of hexagonal tiles into a binary catalog.
+	 *
+	 * @param tiles   the tiles to write, in order.
+	 * @param catalog the destination file.
+	 * @throws UncheckedIOException if the catalog cannot be written.
+	 */
+	public static void write(List<Tile> tiles, Path catalog) {
+		Objects.requireNonNull(tiles);
+		Objects.requireNonNull(catalog);
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + tiles.size() * RECORD_SIZE);
+		buffer.putInt(MAGIC).putInt(tiles.size());
+		for (Tile tile : tiles) {
+			encode(tile, buffer);
+		}
+		buffer.flip();
+		try (var channel = FileChannel.open(catalog, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erreur lors de l'écriture du catalogue " + catalog, e);
+		}
+	}
+
+	/**
+	 * Reads all the tiles of a binary catalog, in the order they were written.
+	 *
+	 * @param catalog the catalog file.
+	 * @return a new list of hexagonal tiles.
+	 * @throws IOException if the catalog cannot be read or is malformed.
+	 */
+	public static List<Tile> read(Path catalog) throws IOException {
+		Objects.requireNonNull(catalog);
+		try (var channel = FileChannel.open(catalog, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+				throw new IOException("Catalogue de tuiles invalide : " + catalog);
+			}
+			int count = buffer.getInt();
+			if (count < 0 || buffer.remaining() != count * RECORD_SIZE) {
+				throw new IOException("Taille du catalogue de tuiles invalide : " + catalog);
+			}
+			List<Tile> tiles = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				tiles.add(decode(buffer));
+			}
+			return tiles;
+		}
+	}
+
+	private static void encode(Tile tile, ByteBuffer buffer) {
+		List<Habitat> habitats = tile.getHabitats();
+		buffer.put((byte) habitats.get(0).ordinal());
+		buffer.put(habitats.size() == 2 ? (byte) habitats.get(1).ordinal() : NO_HABITAT);
+		List<Animal> animals = tile.getCompatibleAnimals();
+		if (animals.size() > MAX_ANIMALS) {
+			throw new IllegalArgumentException("Trop d'animaux pour une tuile : " + animals);
+		}
+		buffer.put((byte) animals.size());
+		for (int i = 0; i < MAX_ANIMALS; i++) {
+			buffer.put(i < animals.size() ? (byte) animals.get(i).ordinal() : NO_ANIMAL); // l'ordre du fichier choisit les icônes
+		}
+		buffer.put(tile.hasNatureIcon() ? NATURE_ICON : 0);
+	}
+
+	private static Tile decode(ByteBuffer buffer) throws IOException {
+		Habitat[] allHabitats = Habitat.values();
+		Animal[] allAnimals = Animal.values();
+		int first = buffer.get();
+		byte second = buffer.get();
+		int animalCount = buffer.get();
+		byte[] animalOrdinals = new byte[MAX_ANIMALS];
+		buffer.get(animalOrdinals);
+		byte flags = buffer.get();
+		Tile tile;
+		try {
+			List<Habitat> habitats = second == NO_HABITAT
+					? List.of(allHabitats[first])
+					: List.of(allHabitats[first], allHabitats[second & 0xFF]);
+			List<Animal> animals = new ArrayList<>(animalCount);
+			for (int i = 0; i < animalCount; i++) {
+				animals.add(allAnimals[animalOrdinals[i]]);
+			}
+			tile = new HexagoTile(habitats, animals);
+		} catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("Enregistrement de tuile invalide", e);
+		}
+		if (((flags & NATURE_ICON) != 0) != tile.hasNatureIcon()) {
+			throw new IOException("Icône nature incohérente pour la tuile " + tile.getHabitats() + " " + tile.getCompatibleAnimals());
+		}
+		return tile;
+	}
+
+	/**
+	 * Generates the binary catalog of each text tile file given in argument.
+	 * Used by the {@code catalog} Ant target.
+	 *
+	 * @param args the text files to compile.
+	 */
+	public static void main(String[] args) {
+		for (String textFile : args) {
+			List<Tile> tiles = Tile.parseHexagonalTileFile(textFile);
+			Path catalog = catalogPathOf(textFile);
+			write(tiles, catalog);
+			System.out.println(tiles.size() + " tuiles écrites dans " + catalog);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package fr.uge.cascadia.view;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import fr.uge.cascadia.Position;
+
+/**
+ * The image of a board kept between two frames.
+ *
+ * The layer remembers what each cell showed (tile, token, rotation, highlight, hint, hover). At each frame only the cells
+ * that changed are redrawn in the image, then the image is copied on the screen in one call.
+ * The whole image is redrawn when the grid grows, as every cell moves.
+ * The layer is only used by the render thread, it draws from {@link BoardSnapshot}s.
+ *
+ * @author massinissa
+ */
+public final class BoardLayer {
+
+	/*
+	 * Ce qu'affiche une case : si rien n'a changé, la case n'est pas redessinée.
+	 * Le meilleur gain fixe la couleur des indices, il n'est gardé que pour les cases qui en ont un.
+	 */
+	private record CellState(TileSnapshot tile, boolean valid, Integer gain, int best, boolean hovered) {
+	}
+
+	private BufferedImage image;
+	private Rectangle bounds;
+	private CellState[][] cells;
+
+	/**
+	 * Creates an empty layer. Nothing is drawn before the first {@link #paint}.
+	 */
+	BoardLayer() {
+	}
+
+	/**
+	 * Updates the cells that changed since the previous frame, then draws the board.
+	 *
+	 * @param graphics the graphics of the frame.
+	 * @param view     the view drawing the cells.
+	 * @param board    the board to draw.
+	 * @param hints    the gain of the selected tile at each free cell.
+	 * @param hover    the cell under the pointer, or null.
+	 */
+	public void paint(Graphics2D graphics, GameView view, BoardSnapshot board, Map<Position, Integer> hints, Position hover) {
+		Objects.requireNonNull(graphics);
+		Objects.requireNonNull(view);
+		Objects.requireNonNull(board);
+		Objects.requireNonNull(hints);
+		int best = hints.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+		int rows = board.rows();
+		int columns = board.columns();
+		CellState[][] current = new CellState[rows][columns];
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < columns; col++) {
+				Position position = new Position(col, row);
+				Integer gain = hints.get(position);
+				current[row][col] = new CellState(board.tileAt(col, row), board.validPositions().contains(position),
+						gain, gain == null ? 0 : best, position.equals(hover));
+			}
+		}
+		if (image == null || cells.length != rows || cells[0].length != columns) {
+			redrawAll(view, current);
+		} else {
+			List<Rectangle> dirty = new ArrayList<>();
+			for (int row = 0; row < rows; row++) {
+				for (int col = 0; col < columns; col++) {
+					if (!current[row][col].equals(cells[row][col])) {
+						dirty.add(view.cellBounds(col, row));
+					}
+				}
+			}
+			redraw(view, current, dirty);
+		}
+		cells = current;
+		graphics.drawImage(image, bounds.x, bounds.y, null);
+	}
+	private void redrawAll(GameView view, CellState[][] current) {
+		Rectangle all = null;
+		for (int row = 0; row < current.length; row++) {
+			for (int col = 0; col < current[row].length; col++) {
+				Rectangle cell = view.cellBounds(col, row);
+				all = all == null ? cell : all.union(cell);
+			}
+		}
+		bounds = all;
+		image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+		redraw(view, current, List.of(bounds));
+	}
+
+	/*
+	 * Redessine, dans chaque zone modifiée, toutes les cases qui la touchent dans l'ordre du dessin complet,
+	 * pour obtenir les mêmes pixels que si tout le plateau était redessiné.
+	 */
+	private void redraw(GameView view, CellState[][] current, List<Rectangle> dirty) {
+		if (dirty.isEmpty()) return;
+		Graphics2D graphics = image.createGraphics();
+		try {
+			graphics.translate(-bounds.x, -bounds.y);
+			Composite composite = graphics.getComposite();
+			for (Rectangle region : dirty) {
+				graphics.setClip(region);
+				graphics.setComposite(AlphaComposite.Clear);
+				graphics.fill(region);
+				graphics.setComposite(composite);
+				for (int row = 0; row < current.length; row++) {
+					for (int col = 0; col < current[row].length; col++) {
+						if (view.cellBounds(col, row).intersects(region)) {
+							view.drawCell(graphics, current[row][col].tile(), col, row, current[row][col].valid());
+							if (current[row][col].gain() != null) {
+								view.drawHint(graphics, col, row, current[row][col].gain(), current[row][col].best());
+							}
+							if (current[row][col].hovered()) {
+								view.drawHover(graphics, col, row);
+							}
+						}
+					}
+				}
+			}
+		} finally {
+			graphics.dispose();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package fr.uge.cascadia.view;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import fr.uge.cascadia.Position;
+import fr.uge.cascadia.board.Board;
+
+/**
+ * An immutable copy of what a board shows : the tile of each cell and the cells where a tile can be placed.
+ *
+ * @param rows           the number of rows of the grid.
+ * @param columns        the number of columns of the grid.
+ * @param cells          the tiles, row by row, null for an empty cell.
+ * @param validPositions the cells where a tile can be placed.
+ * @author massinissa
+ */
+public record BoardSnapshot(int rows, int columns, List<TileSnapshot> cells, Set<Position> validPositions) {
+
+	/**
+	 * Creates a snapshot.
+	 */
+	public BoardSnapshot {
+		Objects.requireNonNull(cells);
+		validPositions = Set.copyOf(validPositions);
+		if (cells.size() != rows * columns) {
+			throw new IllegalArgumentException("Il faut une case par ligne et par colonne.");
+		}
+	}
+
+	/**
+	 * Copies the state of a board. Must be called on the thread that changes the board.
+	 *
+	 * @param board the board.
+	 * @return the snapshot of the board.
+	 */
+	public static BoardSnapshot of(Board board) {
+		Objects.requireNonNull(board);
+		var grid = board.getGrid();
+		int rows = grid.size();
+		int columns = grid.get(0).size();
+		TileSnapshot[] cells = new TileSnapshot[rows * columns];
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < columns; col++) {
+				cells[row * columns + col] = TileSnapshot.of(grid.get(row).get(col));
+			}
+		}
+		// List.copyOf refuse les cases vides
+		return new BoardSnapshot(rows, columns, Collections.unmodifiableList(Arrays.asList(cells)), Set.copyOf(board.getValidPositions()));
+	}
+
+	/**
+	 * Gets the tile of a cell.
+	 *
+	 * @param col the column.
+	 * @param row the row.
+	 * @return the tile, or null if the cell is empty.
+	 */
+	public TileSnapshot tileAt(int col, int row) {
+		return cells.get(row * columns + col);
+	}
+
+	/**
+	 * Tells if a tile can be placed in a cell.
+	 *
+	 * @param col the column.
+	 * @param row the row.
+	 * @return true if the cell is a valid position.
+	 */
+	public boolean isValid(int col, int row) {
+		return validPositions.contains(new Position(col, row));
+	}
+}
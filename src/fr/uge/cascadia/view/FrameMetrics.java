@@ -0,0 +1,199 @@
+package fr.uge.cascadia.view;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what the graphical client does : the time to draw each frame, the frames drawn for each frame published,
+ * the hits and misses of the image caches and the time from a pointer event to the first frame showing it.
+ *
+ * Every thread records without lock : the counters are {@link LongAdder}s and the durations go in histograms
+ * of atomic counters. Reading a {@link Summary} while the others record gives an approximate view,
+ * which is enough to find a stall on the screen.
+ *
+ * @author massinissa
+ */
+public final class FrameMetrics {
+
+	/**
+	 * Percentiles of a duration, in milliseconds.
+	 *
+	 * @param p50   half of the values are lower.
+	 * @param p95   95% of the values are lower.
+	 * @param p99   99% of the values are lower.
+	 * @param max   the highest value.
+	 * @param count the number of values.
+	 */
+	public record Percentiles(double p50, double p95, double p99, double max, long count) {
+	}
+
+	/**
+	 * The metrics at a given time.
+	 *
+	 * @param frameTimes   the time to draw a frame.
+	 * @param inputLatency the time from a pointer event to the first frame drawn that shows it.
+	 * @param frames       the number of frames drawn.
+	 * @param draws        the number of frames published by the game.
+	 * @param cacheHits    the number of images found in the caches.
+	 * @param cacheMisses  the number of images decoded or rendered.
+	 */
+	public record Summary(Percentiles frameTimes, Percentiles inputLatency, long frames, long draws, long cacheHits, long cacheMisses) {
+
+		/**
+		 * Gets the number of frames drawn for each frame published.
+		 *
+		 * @return the frames drawn by frame published, 0 before the first one.
+		 */
+		public double framesPerDraw() {
+			return draws == 0 ? 0 : (double) frames / draws;
+		}
+	}
+
+	/*
+	 * Histogramme en microsecondes : une case par valeur jusqu'à 16, puis 8 cases par puissance de 2
+	 * (au plus 12,5 % d'erreur sur un percentile).
+	 */
+	private static final class Histogram {
+		private static final int LINEAR = 16;
+		private static final int SUB_BUCKETS = 8;
+
+		private final AtomicLongArray buckets = new AtomicLongArray(LINEAR + (Long.SIZE - 4) * SUB_BUCKETS);
+		private final AtomicLong max = new AtomicLong();
+
+		void record(long nanos) {
+			long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+			buckets.incrementAndGet(indexOf(micros));
+			max.accumulateAndGet(micros, Math::max);
+		}
+
+		private static int indexOf(long micros) {
+			if (micros < LINEAR) {
+				return (int) micros;
+			}
+			int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+			int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+			return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+		}
+
+		private static long upperBound(int index) {
+			if (index < LINEAR) {
+				return index;
+			}
+			int exponent = (index - LINEAR) / SUB_BUCKETS + 4;
+			int sub = (index - LINEAR) % SUB_BUCKETS;
+			return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+		}
+
+		Percentiles percentiles() {
+			long[] counts = new long[buckets.length()];
+			long total = 0;
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] = buckets.get(i);
+				total += counts[i];
+			}
+			long maxMicros = max.get();
+			return new Percentiles(percentile(counts, total, 0.50, maxMicros), percentile(counts, total, 0.95, maxMicros),
+					percentile(counts, total, 0.99, maxMicros), maxMicros / 1000.0, total);
+		}
+
+		private static double percentile(long[] counts, long total, double rank, long maxMicros) {
+			if (total == 0) {
+				return 0;
+			}
+			long target = (long) Math.ceil(rank * total);
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if (seen >= target) {
+					return Math.min(upperBound(i), maxMicros) / 1000.0;
+				}
+			}
+			return maxMicros / 1000.0;
+		}
+
+		void reset() {
+			for (int i = 0; i < buckets.length(); i++) {
+				buckets.set(i, 0);
+			}
+			max.set(0);
+		}
+	}
+
+	private final Histogram frameTimes = new Histogram();
+	private final Histogram inputLatency = new Histogram();
+	private final LongAdder frames = new LongAdder();
+	private final LongAdder draws = new LongAdder();
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+
+	/**
+	 * Creates an empty registry.
+	 */
+	public FrameMetrics() {
+	}
+
+	/**
+	 * Records a frame published by the game.
+	 */
+	public void recordDraw() {
+		draws.increment();
+	}
+
+	/**
+	 * Records a frame drawn on the screen.
+	 *
+	 * @param start the value of {@link System#nanoTime()} before the frame.
+	 * @param end   the value of {@link System#nanoTime()} after the frame.
+	 */
+	public void recordFrame(long start, long end) {
+		frames.increment();
+		frameTimes.record(end - start);
+	}
+
+	/**
+	 * Records the latency of a pointer event, once the first frame showing it is drawn.
+	 *
+	 * @param nanos the time from the reading of the event to the end of the frame, in nanoseconds.
+	 */
+	public void recordInputLatency(long nanos) {
+		inputLatency.record(nanos);
+	}
+
+	/**
+	 * Records an image found in a cache.
+	 */
+	public void recordCacheHit() {
+		cacheHits.increment();
+	}
+
+	/**
+	 * Records an image that was not in a cache.
+	 */
+	public void recordCacheMiss() {
+		cacheMisses.increment();
+	}
+
+	/**
+	 * Reads the metrics.
+	 *
+	 * @return the metrics recorded since the creation or the last reset.
+	 */
+	public Summary summary() {
+		return new Summary(frameTimes.percentiles(), inputLatency.percentiles(),
+				frames.sum(), draws.sum(), cacheHits.sum(), cacheMisses.sum());
+	}
+
+	/**
+	 * Starts a new measure : forgets everything recorded so far.
+	 */
+	public void reset() {
+		frameTimes.reset();
+		inputLatency.reset();
+		frames.reset();
+		draws.reset();
+		cacheHits.reset();
+		cacheMisses.reset();
+	}
+}
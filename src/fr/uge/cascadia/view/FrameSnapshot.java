@@ -0,0 +1,160 @@
+package fr.uge.cascadia.view;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import fr.uge.cascadia.Player;
+import fr.uge.cascadia.Position;
+import fr.uge.cascadia.animal.AnimalToken;
+import fr.uge.cascadia.board.Shelf;
+
+/**
+ * Everything drawn in a frame of the game, copied from the model by the game thread.
+ * A snapshot never changes : the game thread publishes a new one after each change
+ * and the render thread draws the latest one without locking the model.
+ *
+ * @param seat         the index of the player, identifies the layer of the board.
+ * @param playerName   the name of the player.
+ * @param natureTokens the nature tokens of the player.
+ * @param board        the board of the player.
+ * @param shelfTiles   the tiles of the shelf, null for an empty slot.
+ * @param shelfTokens  the tokens of the shelf, null for an empty slot.
+ * @param hover        the cell under the pointer, or null.
+ * @param hints        the gain of the selected tile at each free cell, empty when no tile is being placed.
+ * @param status       the status message, or null.
+ * @param achievements the progress of the player toward the achievements, one line each.
+ * @param messages     the messages drawn over the frame, in order.
+ * @param inputTime    the value of {@link System#nanoTime()} when the pointer event shown by this frame was read, 0 if none.
+ * @author massinissa
+ */
+public record FrameSnapshot(int seat, String playerName, int natureTokens, BoardSnapshot board,
+		List<TileSnapshot> shelfTiles, List<AnimalToken> shelfTokens, Position hover, Map<Position, Integer> hints,
+		Message status, List<String> achievements, List<Message> messages, long inputTime) {
+
+	/**
+	 * A text drawn on the screen.
+	 *
+	 * @param text  the text.
+	 * @param color the color.
+	 * @param x     the x-coordinate.
+	 * @param y     the y-coordinate of the baseline.
+	 * @param size  the font size.
+	 */
+	public record Message(String text, Color color, int x, int y, int size) {
+
+		/**
+		 * Creates a message.
+		 */
+		public Message {
+			Objects.requireNonNull(text);
+			Objects.requireNonNull(color);
+		}
+	}
+
+	/**
+	 * Creates a snapshot.
+	 */
+	public FrameSnapshot {
+		Objects.requireNonNull(playerName);
+		Objects.requireNonNull(board);
+		Objects.requireNonNull(shelfTiles);
+		Objects.requireNonNull(shelfTokens);
+		hints = Map.copyOf(hints);
+		achievements = List.copyOf(achievements);
+		messages = List.copyOf(messages);
+	}
+
+	/**
+	 * Copies the screen of a player. Must be called on the game thread.
+	 * The status, the achievements, the hovered cell, the hints and the pointer event of the previous frame are kept,
+	 * the messages are cleared.
+	 *
+	 * @param seat     the index of the player.
+	 * @param player   the player.
+	 * @param shelf    the shelf.
+	 * @param previous the previous frame, or null.
+	 * @return the new frame.
+	 */
+	public static FrameSnapshot of(int seat, Player player, Shelf shelf, FrameSnapshot previous) {
+		Objects.requireNonNull(player);
+		Objects.requireNonNull(shelf);
+		List<TileSnapshot> tiles = new ArrayList<>();
+		for (var tile : shelf.getTiles()) {
+			tiles.add(TileSnapshot.of(tile));
+		}
+		// les emplacements vides de l'étal sont null : pas de List.copyOf
+		List<AnimalToken> tokens = Collections.unmodifiableList(new ArrayList<>(shelf.getTokens()));
+		return new FrameSnapshot(seat, player.getName(), player.getBoard().getNatureTokens(), BoardSnapshot.of(player.getBoard()),
+				Collections.unmodifiableList(tiles), tokens,
+				previous == null ? null : previous.hover, previous == null ? Map.of() : previous.hints,
+				previous == null ? null : previous.status, previous == null ? List.of() : previous.achievements, List.of(),
+				previous == null ? 0 : previous.inputTime);
+	}
+
+	/**
+	 * Returns this frame with another cell under the pointer.
+	 *
+	 * @param hover the cell under the pointer, or null.
+	 * @return the new frame.
+	 */
+	public FrameSnapshot withHover(Position hover) {
+		return new FrameSnapshot(seat, playerName, natureTokens, board, shelfTiles, shelfTokens, hover, hints, status, achievements, messages, inputTime);
+	}
+
+	/**
+	 * Returns this frame with other placement hints.
+	 *
+	 * @param hints the gain of the selected tile at each free cell, empty to hide the hints.
+	 * @return the new frame.
+	 */
+	public FrameSnapshot withHints(Map<Position, Integer> hints) {
+		return new FrameSnapshot(seat, playerName, natureTokens, board, shelfTiles, shelfTokens, hover, hints, status, achievements, messages, inputTime);
+	}
+
+	/**
+	 * Returns this frame with another status.
+	 *
+	 * @param status the status message.
+	 * @return the new frame.
+	 */
+	public FrameSnapshot withStatus(Message status) {
+		return new FrameSnapshot(seat, playerName, natureTokens, board, shelfTiles, shelfTokens, hover, hints, status, achievements, messages, inputTime);
+	}
+
+	/**
+	 * Returns this frame with another progress toward the achievements.
+	 *
+	 * @param achievements the lines of the progress, empty to hide it.
+	 * @return the new frame.
+	 */
+	public FrameSnapshot withAchievements(List<String> achievements) {
+		return new FrameSnapshot(seat, playerName, natureTokens, board, shelfTiles, shelfTokens, hover, hints, status, achievements, messages, inputTime);
+	}
+
+	/**
+	 * Returns this frame with one more message drawn over it.
+	 *
+	 * @param message the message.
+	 * @return the new frame.
+	 */
+	public FrameSnapshot withMessage(Message message) {
+		Objects.requireNonNull(message);
+		List<Message> all = new ArrayList<>(messages);
+		all.add(message);
+		return new FrameSnapshot(seat, playerName, natureTokens, board, shelfTiles, shelfTokens, hover, hints, status, achievements, all, inputTime);
+	}
+
+	/**
+	 * Returns this frame showing a pointer event.
+	 *
+	 * @param inputTime the value of {@link System#nanoTime()} when the event was read.
+	 * @return the new frame.
+	 */
+	public FrameSnapshot withInputTime(long inputTime) {
+		return new FrameSnapshot(seat, playerName, natureTokens, board, shelfTiles, shelfTokens, hover, hints, status, achievements, messages, inputTime);
+	}
+}
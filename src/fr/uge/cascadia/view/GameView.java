@@ -2,6 +2,7 @@ package fr.uge.cascadia.view;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -11,9 +12,8 @@ import com.github.forax.zen.ApplicationContext;
 import fr.uge.cascadia.Player;
 import fr.uge.cascadia.Position;
 import fr.uge.cascadia.animal.Animal;
+import fr.uge.cascadia.animal.AnimalToken;
 import fr.uge.cascadia.board.Board;
-import fr.uge.cascadia.board.Shelf;
-import fr.uge.cascadia.controller.ControllerGraphic;
 import fr.uge.cascadia.tile.Habitat;
 
 
@@ -40,9 +40,10 @@ public sealed interface GameView permits HexagoView, SquareView {
 	 * Draws the shelf containing tiles and tokens.
 	 *
 	 * @param graphics The Graphics2D context used for rendering.
-	 * @param shelf    The shelf to draw.
+	 * @param tiles    The tiles of the shelf, null for an empty slot.
+	 * @param tokens   The tokens of the shelf, null for an empty slot.
 	 */
-	void drawShelf(Graphics2D graphics, Shelf shelf);
+	void drawShelf(Graphics2D graphics, List<TileSnapshot> tiles, List<AnimalToken> tokens);
 
 
 	/**
@@ -63,11 +64,65 @@ public sealed interface GameView permits HexagoView, SquareView {
 	 * @param x     The x-coordinate on the screen.
 	 * @param y     The y-coordinate on the screen.
 	 * @param board The game board.
-	 * @return The logical position on the board corresponding to the screen coordinates.
+	 * @return The logical position on the board corresponding to the screen coordinates,
+	 *         or null if no cell of the board is under the point.
 	 */
 	Position fromScreenToRealCoordinates(int x, int y, Board board);
 
 
+	/**
+	 * Draws one cell of a board : its background, its highlight and its tile.
+	 * Drawing every cell row by row gives the same image as {@link #drawBoard}.
+	 *
+	 * @param graphics The Graphics2D context used for rendering.
+	 * @param tile     The tile of the cell, or null if the cell is empty.
+	 * @param col      The column of the cell.
+	 * @param row      The row of the cell.
+	 * @param valid    True if a tile can be placed in the cell.
+	 */
+	void drawCell(Graphics2D graphics, TileSnapshot tile, int col, int row, boolean valid);
+
+
+	/**
+	 * Highlights the cell under the pointer, over what {@link #drawCell} drew.
+	 *
+	 * @param graphics The Graphics2D context used for rendering.
+	 * @param col      The column of the cell.
+	 * @param row      The row of the cell.
+	 */
+	void drawHover(Graphics2D graphics, int col, int row);
+
+
+	/**
+	 * Colours a free cell by the gain of the tile being placed, over what {@link #drawCell} drew.
+	 *
+	 * @param graphics The Graphics2D context used for rendering.
+	 * @param col      The column of the cell.
+	 * @param row      The row of the cell.
+	 * @param gain     The best gain of score of the tile in this cell.
+	 * @param best     The best gain over all the free cells.
+	 */
+	void drawHint(Graphics2D graphics, int col, int row, int gain, int best);
+
+
+	/**
+	 * Gets the rectangle of the screen where a cell of the board is drawn.
+	 *
+	 * @param col The column of the cell.
+	 * @param row The row of the cell.
+	 * @return The bounds of everything {@link #drawCell} may draw for this cell.
+	 */
+	Rectangle cellBounds(int col, int row);
+
+
+	/**
+	 * Gets the utilities of the view, which hold the images and the board layers.
+	 *
+	 * @return the utilities used to draw.
+	 */
+	ViewUtils viewUtils();
+
+
 
 
 	/**
@@ -96,6 +151,36 @@ public sealed interface GameView permits HexagoView, SquareView {
 
 
 
+	/**
+	 * Displays a progress bar while the images are loaded.
+	 *
+	 * @param context The application context for rendering.
+	 * @param message The step being done.
+	 * @param loaded  The number of images ready.
+	 * @param total   The number of images to prepare.
+	 */
+	default void drawLoading(ApplicationContext context, String message, int loaded, int total) {
+		Objects.requireNonNull(context, "The context cannot be null.");
+		Objects.requireNonNull(message, "The message cannot be null.");
+		context.renderFrame(graphics -> {
+			int screenWidth = context.getScreenInfo().width();
+			int screenHeight = context.getScreenInfo().height();
+			int barWidth = screenWidth / 2;
+			int x = (screenWidth - barWidth) / 2;
+			int y = screenHeight / 2;
+			graphics.setColor(Color.WHITE);
+			graphics.fillRect(0, 0, screenWidth, screenHeight);
+			graphics.setColor(Color.BLACK);
+			graphics.setFont(new java.awt.Font("Arial", java.awt.Font.BOLD, 20));
+			graphics.drawString(message + " (" + loaded + "/" + total + ")", x, y - 20);
+			graphics.drawRect(x, y, barWidth, 20);
+			graphics.setColor(new Color(0, 150, 0));
+			graphics.fillRect(x + 1, y + 1, total == 0 ? barWidth - 1 : (barWidth - 1) * loaded / total, 19);
+		});
+	}
+
+
+
 	/**
 	 * Displays the end screen with final scores for all players.
 	 *
@@ -158,29 +243,91 @@ public sealed interface GameView permits HexagoView, SquareView {
 
 
 	/**
-	 * Draws the game screen including the board and shelf for the specified player.
+	 * Draws a frame of the game : the informations of the player, the status, the board, the shelf,
+	 * then the messages. Called by the render thread, reads the snapshot only.
 	 *
-	 * @param context The application context for rendering.
-	 * @param shelf   The shelf to render.
-	 * @param player  The player whose board and shelf are displayed.
-	 * @param game    The controller managing the game's graphical logic.
-	 */
-	default void draw(ApplicationContext context, Shelf shelf, Player player , ControllerGraphic game ) {
-		Objects.requireNonNull(context);
-		Objects.requireNonNull(shelf);
-		Objects.requireNonNull(player);
-		Objects.requireNonNull(game);
-		var screenInfo = context.getScreenInfo();
-		var width = screenInfo.width();
-		var height = screenInfo.height();
-
-		context.renderFrame(graphics -> graphics.fillRect(0, 0, width, height));
-
-		displayMessage(context , "Plateau de : " , Color.white , 50 , 15 , 15); 
-		displayMessage(context , player.getName() , Color.white , 50 , 30 , 15); 
-		displayMessage(context , "jetons nature : "+ player.getBoard().getNatureTokens() , Color.red , 600 , 15 , 14); 
-
-		context.renderFrame(graphics -> drawBoard(graphics, player));
-		context.renderFrame(graphics -> drawShelf(graphics, shelf));
+	 * @param graphics The Graphics2D context used for rendering.
+	 * @param frame    The frame to draw.
+	 * @param width    The width of the screen.
+	 * @param height   The height of the screen.
+	 */
+	default void drawFrame(Graphics2D graphics, FrameSnapshot frame, int width, int height) {
+		Objects.requireNonNull(graphics);
+		Objects.requireNonNull(frame);
+		graphics.fillRect(0, 0, width, height);
+
+		drawMessage(graphics, new FrameSnapshot.Message("Plateau de : ", Color.white, 50, 15, 15));
+		drawMessage(graphics, new FrameSnapshot.Message(frame.playerName(), Color.white, 50, 30, 15));
+		drawMessage(graphics, new FrameSnapshot.Message("jetons nature : " + frame.natureTokens(), Color.red, 600, 15, 14));
+		if (frame.status() != null) {
+			drawMessage(graphics, frame.status());
+		}
+
+		// le plateau est gardé en image : seules les cases modifiées sont redessinées
+		viewUtils().boardLayer(frame.seat()).paint(graphics, this, frame.board(), frame.hints(), frame.hover());
+		drawShelf(graphics, frame.shelfTiles(), frame.shelfTokens());
+		for (var message : frame.messages()) {
+			drawMessage(graphics, message);
+		}
+		drawAchievements(graphics, frame.achievements(), height);
+	}
+
+
+
+	/**
+	 * Draws the progress of the player toward the achievements, in the bottom left corner of the screen.
+	 *
+	 * @param graphics     The Graphics2D context used for rendering.
+	 * @param achievements The lines to draw, the first one at the top.
+	 * @param height       The height of the screen.
+	 */
+	private void drawAchievements(Graphics2D graphics, List<String> achievements, int height) {
+		int y = height - 10 - (achievements.size() - 1) * 16;
+		for (String line : achievements) {
+			drawMessage(graphics, new FrameSnapshot.Message(line, Color.yellow, 10, y, 13));
+			y += 16;
+		}
+	}
+
+
+
+	/**
+	 * Draws the metrics of the client over the frame, in the bottom right corner of the screen.
+	 *
+	 * @param graphics The Graphics2D context used for rendering.
+	 * @param summary  The metrics to show.
+	 * @param width    The width of the screen.
+	 * @param height   The height of the screen.
+	 */
+	default void drawMetrics(Graphics2D graphics, FrameMetrics.Summary summary, int width, int height) {
+		Objects.requireNonNull(graphics);
+		Objects.requireNonNull(summary);
+		var frames = summary.frameTimes();
+		var latency = summary.inputLatency();
+		List<String> lines = List.of(
+				String.format("frame ms  p50 %.2f  p95 %.2f  p99 %.2f  max %.2f", frames.p50(), frames.p95(), frames.p99(), frames.max()),
+				String.format("input ms  p50 %.2f  p95 %.2f  p99 %.2f  max %.2f", latency.p50(), latency.p95(), latency.p99(), latency.max()),
+				String.format("frames %d  draws %d  frames/draw %.2f", summary.frames(), summary.draws(), summary.framesPerDraw()),
+				String.format("images  hits %d  misses %d", summary.cacheHits(), summary.cacheMisses()));
+		int lineHeight = 16;
+		int boxWidth = 380;
+		int boxHeight = lines.size() * lineHeight + 10;
+		int x = width - boxWidth - 10;
+		int y = height - boxHeight - 10;
+		graphics.setColor(new Color(0, 0, 0, 170));
+		graphics.fillRect(x, y, boxWidth, boxHeight);
+		graphics.setColor(Color.GREEN);
+		graphics.setFont(new java.awt.Font(java.awt.Font.MONOSPACED, java.awt.Font.PLAIN, 12));
+		for (int i = 0; i < lines.size(); i++) {
+			graphics.drawString(lines.get(i), x + 8, y + 5 + (i + 1) * lineHeight - 4);
+		}
+	}
+
+
+
+	private static void drawMessage(Graphics2D graphics, FrameSnapshot.Message message) {
+		graphics.setColor(message.color());
+		graphics.setFont(new java.awt.Font("Arial", java.awt.Font.BOLD, message.size()));
+		graphics.drawString(message.text(), message.x(), message.y());
 	}
 }
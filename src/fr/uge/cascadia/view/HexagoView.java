@@ -1,17 +1,18 @@
 package fr.uge.cascadia.view;
 
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
+import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
+import java.util.List;
 import java.util.Objects;
 
 import fr.uge.cascadia.Player;
 import fr.uge.cascadia.Position;
 import fr.uge.cascadia.animal.AnimalToken;
 import fr.uge.cascadia.board.Board;
-import fr.uge.cascadia.board.Shelf;
-import fr.uge.cascadia.tile.HexagoTile;
 import fr.uge.cascadia.tile.Tile;
 
 /**
@@ -25,6 +26,9 @@ import fr.uge.cascadia.tile.Tile;
  */
 
 public record HexagoView(int xOrigin, int yOrigin, int tileSize , ViewUtils viewUtils   ) implements GameView {
+
+	private static final BasicStroke OUTLINE = new BasicStroke(1);
+	private static final BasicStroke HOVER_OUTLINE = new BasicStroke(3);
 	
 	
 	
@@ -49,27 +53,63 @@ public record HexagoView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
 		Objects.requireNonNull(graphics); 
 		Objects.requireNonNull(player); 
 
-		var grid = player.getBoard().getGrid();
-		var validPositions = player.getBoard().getValidPositions();
-		int hexRadius = tileSize / 2;
-		for (int row = 0; row < grid.size(); row++) {
-			for (int col = 0; col < grid.get(row).size(); col++) {
-				Position center = getHexagonCenter(col, row);
-				Color color = new Color(222, 184, 135);
-				if (validPositions.contains(new Position(col, row))) {
-					color = new Color(0, 255, 0, 150); 
-				}
-				drawHexagon(graphics, center.x(), center.y(), hexRadius, color);
-				var tile = grid.get(row).get(col);
-				if (tile != null) {
-					drawTile(graphics, tile, center.x() - hexRadius, center.y() - hexRadius, hexRadius * 2, hexRadius * 2);
-				}
+		var board = BoardSnapshot.of(player.getBoard());
+		for (int row = 0; row < board.rows(); row++) {
+			for (int col = 0; col < board.columns(); col++) {
+				drawCell(graphics, board.tileAt(col, row), col, row, board.isValid(col, row));
 			}
 		}
 	}
 
 
 
+	@Override
+	public void drawCell(Graphics2D graphics, TileSnapshot tile, int col, int row, boolean valid) {
+		Objects.requireNonNull(graphics);
+		int hexRadius = tileSize / 2;
+		Position center = getHexagonCenter(col, row);
+		Color color = valid ? new Color(0, 255, 0, 150) : new Color(222, 184, 135);
+		drawHexagon(graphics, center.x(), center.y(), hexRadius, color);
+		if (tile != null) {
+			drawTile(graphics, tile, center.x() - hexRadius, center.y() - hexRadius, hexRadius * 2, hexRadius * 2);
+		}
+	}
+
+
+
+	@Override
+	public void drawHover(Graphics2D graphics, int col, int row) {
+		Objects.requireNonNull(graphics);
+		Position center = getHexagonCenter(col, row);
+		Polygon hexagon = createHexagon(center.x(), center.y(), tileSize / 2);
+		graphics.setColor(new Color(255, 255, 255, 60));
+		graphics.fill(hexagon);
+		graphics.setColor(Color.WHITE);
+		graphics.fill(HOVER_OUTLINE.createStrokedShape(hexagon));
+	}
+
+
+
+	@Override
+	public void drawHint(Graphics2D graphics, int col, int row, int gain, int best) {
+		Objects.requireNonNull(graphics);
+		Position center = getHexagonCenter(col, row);
+		viewUtils.drawHint(graphics, createHexagon(center.x(), center.y(), tileSize / 2), gain, best);
+	}
+
+
+
+	@Override
+	public Rectangle cellBounds(int col, int row) {
+		int hexRadius = tileSize / 2;
+		Position center = getHexagonCenter(col, row);
+		// une image tournée de 60° dépasse de sa case (jusqu'à 1,37 rayon)
+		int extent = hexRadius * 3 / 2 + 1;
+		return new Rectangle(center.x() - extent, center.y() - extent, 2 * extent + 1, 2 * extent + 1);
+	}
+
+
+
 	private Position getHexagonCenter(int col, int row) {
 		int hexRadius = tileSize / 2;
 		int hexWidth = (int) (Math.sqrt(3) * hexRadius); 
@@ -86,17 +126,18 @@ public record HexagoView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
     * Draws the shelf for the player, including tiles and tokens.
     *
     * @param graphics The Graphics2D object used for drawing.
-    * @param shelf The shelf containing tiles and tokens.
+    * @param tiles The tiles of the shelf.
+    * @param tokens The tokens of the shelf.
     */
 	@Override 
-	public void drawShelf(Graphics2D graphics, Shelf shelf) {
+	public void drawShelf(Graphics2D graphics, List<TileSnapshot> tiles, List<AnimalToken> tokens) {
 	    Objects.requireNonNull(graphics);
-	    Objects.requireNonNull(shelf);
+	    Objects.requireNonNull(tiles);
+	    Objects.requireNonNull(tokens);
 
 	    graphics.setColor(Color.WHITE);
 
 	    // Dessiner les tuiles dans la colonne de gauche
-	    var tiles = shelf.getTiles();
 	    int j = 0;
 	    for (var tile : tiles) {
 	        graphics.draw(new Rectangle2D.Float(0, j+tileSize, tileSize, tileSize));
@@ -104,7 +145,6 @@ public record HexagoView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
 	        j += tileSize;
 	    }
 	    // Dessiner les jetons dans la colonne de droite
-	    var tokens = shelf.getTokens();
 	    j = 0;
 	    for (var token : tokens) {
 	        if (token!=null) viewUtils.drawToken(graphics, token, tileSize , j+tileSize, tileSize, tileSize);
@@ -116,14 +156,20 @@ public record HexagoView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
 
 
 
-	private void drawTile(Graphics2D graphics, Tile tile, float x, float y, float dimX, float dimY) {
-		Objects.requireNonNull(tile);
+	private void drawTile(Graphics2D graphics, TileSnapshot snapshot, float x, float y, float dimX, float dimY) {
+		Objects.requireNonNull(snapshot);
 		Objects.requireNonNull(graphics);
-		viewUtils.drawImage(graphics, viewUtils.tileToImage(tile , true), x, y, dimX, dimY , ((HexagoTile) tile).getRotationIndex()*60);
+		Tile tile = snapshot.tile();
+		int rotationIndex = snapshot.rotation();
+		if (dimX == dimY && x == (int) x && y == (int) y && dimX == (int) dimX) {
+			viewUtils.drawHexagonalTile(graphics, tile, (int) x, (int) y, (int) dimX, rotationIndex); // image déjà tournée
+		} else {
+			viewUtils.drawImage(graphics, viewUtils.tileToImage(tile , true), x, y, dimX, dimY , rotationIndex*60);
+		}
 		float centerX = x + dimX / 2;
 		float centerY = y + dimY / 2;
-		if (tile.hasAnimalToken()) {
-			viewUtils.drawToken(graphics, tile.getAssignedAnimalToken(), centerX - dimX / 4, centerY - dimY / 4, dimX / 2, dimY / 2);
+		if (snapshot.token() != null) {
+			viewUtils.drawToken(graphics, snapshot.token(), centerX - dimX / 4, centerY - dimY / 4, dimX / 2, dimY / 2);
 		} else {
 			float imageWidth = dimX / 3; 
 			float imageHeight = dimY / 3;
@@ -142,10 +188,21 @@ public record HexagoView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
 	public Position fromScreenToRealCoordinates(int x, int y, Board board) {
 		Objects.requireNonNull(board); 
 		int hexRadius = tileSize / 2;
+		int hexWidth = (int) (Math.sqrt(3) * hexRadius);
+		int rowHeight = 3 * hexRadius / 2;
+		if (hexWidth == 0 || rowHeight == 0) {
+			return null;
+		}
+		// seuls les centres à moins d'un rayon comptent : au plus deux lignes et deux colonnes autour du point
+		int firstRow = Math.max(0, Math.floorDiv(y - yOrigin - hexRadius, rowHeight));
+		int lastRow = Math.min(board.getGrid().size() - 1, Math.floorDiv(y - yOrigin + hexRadius, rowHeight) + 1);
 		Position closestPoint = null;
 		double minDistance = Double.MAX_VALUE;
-		for (int row = 0; row < board.getGrid().size(); row++) {
-			for (int col = 0; col < board.getGrid().get(0).size(); col++) {
+		for (int row = firstRow; row <= lastRow; row++) {
+			int shift = row % 2 != 0 ? hexWidth / 2 : 0;
+			int firstCol = Math.max(0, Math.floorDiv(x - xOrigin - shift - hexRadius, hexWidth));
+			int lastCol = Math.min(board.getGrid().get(0).size() - 1, Math.floorDiv(x - xOrigin - shift + hexRadius, hexWidth) + 1);
+			for (int col = firstCol; col <= lastCol; col++) {
 
 				Position center = getHexagonCenter(col, row);
 
@@ -179,7 +236,8 @@ public record HexagoView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
 		graphics.fill(hexagon);
 
 		graphics.setColor(Color.GRAY);
-		graphics.draw(hexagon);
+		// contour rempli plutôt que tracé : le tracé d'une ligne coupée par le clip du BoardLayer décale des pixels
+		graphics.fill(OUTLINE.createStrokedShape(hexagon));
 	}
 
 
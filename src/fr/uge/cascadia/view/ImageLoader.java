@@ -1,30 +1,84 @@
 package fr.uge.cascadia.view;
 
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
 
 import javax.imageio.ImageIO;
 
 /**
  * The ImageLoader class deals with retrieving and storing multiple images in a cache.
  * Images are loaded once and reused to improve performance.
+ *
+ * The hexagonal tiles are drawn in six rotations : the loader keeps an atlas of these images
+ * already scaled to the size of a tile and rotated, in the format of the screen,
+ * so drawing a tile is a simple copy of pixels.
+ *
+ * The caches are safe for concurrent use : {@link #preload(List, Progress)} decodes all the images
+ * of the game in parallel on virtual threads before the first frame.
  * @author vincent / modified by massinissa
  */
 public class ImageLoader {
 
-	private final Map<String, BufferedImage> imageCache = new HashMap<>();
+	/**
+	 * Number of rotations of an hexagonal tile.
+	 */
+	public static final int ROTATIONS = 6;
+
+	/**
+	 * Receives the progress of a preloading.
+	 */
+	@FunctionalInterface
+	public interface Progress {
+		/**
+		 * Called each time an image is ready, on the thread that started the preloading.
+		 *
+		 * @param loaded the number of images ready.
+		 * @param total  the number of images to prepare.
+		 */
+		void update(int loaded, int total);
+	}
+
+	private final Map<String, BufferedImage> imageCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Rotated and scaled images by "dir/name@size", one image by rotation index.
+	 */
+	private final Map<String, BufferedImage[]> rotationAtlas = new ConcurrentHashMap<>();
+
+	private final FrameMetrics metrics;
+
 	/**
 	 * Default constructor for the ImageLoader class.
 	 * Initializes the image loader with default settings.
 	 */
 	public ImageLoader() {
+		this(new FrameMetrics());
+	}
+
+	/**
+	 * Creates an image loader that counts the hits and misses of its caches.
+	 *
+	 * @param metrics The registry receiving the hits and misses.
+	 */
+	public ImageLoader(FrameMetrics metrics) {
+		this.metrics = Objects.requireNonNull(metrics);
 	}
 	/**
 	 * Loads an image from a file or retrieves it from the cache if it has already been loaded.
@@ -38,13 +92,79 @@ public class ImageLoader {
 		Objects.requireNonNull(imageName); 
 
 		String key = dir + "/" + imageName;
-		return imageCache.computeIfAbsent(key, path -> {
-			try (var input = Files.newInputStream(Path.of(path))) {
-				return ImageIO.read(input);
-			} catch (IOException e) {
-				throw new RuntimeException("Failed to load image: " + path, e);
+		BufferedImage image = imageCache.get(key);
+		if (image != null) {
+			metrics.recordCacheHit();
+			return image;
+		}
+		metrics.recordCacheMiss();
+		image = readImage(key); // décodé hors de la map pour ne pas bloquer les autres images
+		if (image == null) {
+			return null;
+		}
+		BufferedImage previous = imageCache.putIfAbsent(key, image);
+		return previous != null ? previous : image;
+	}
+
+	private static BufferedImage readImage(String path) {
+		try (var input = Files.newInputStream(Path.of(path))) {
+			return ImageIO.read(input);
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to load image: " + path, e);
+		}
+	}
+
+	/**
+	 * Decodes all the images of some directories in parallel, each one on a virtual thread.
+	 * Returns when every image is in the cache.
+	 *
+	 * @param dirs     The directories of the images.
+	 * @param progress Notified on the calling thread each time an image is decoded.
+	 * @throws UncheckedIOException if a directory cannot be read.
+	 */
+	public void preload(List<String> dirs, Progress progress) {
+		Objects.requireNonNull(dirs);
+		Objects.requireNonNull(progress);
+		List<Runnable> tasks = new ArrayList<>();
+		for (String dir : dirs) {
+			for (String name : listImages(dir)) {
+				tasks.add(() -> loadImage(dir, name));
+			}
+		}
+		runAll(tasks, progress);
+	}
+
+	private static List<String> listImages(String dir) {
+		Objects.requireNonNull(dir);
+		try (var files = Files.list(Path.of(dir))) {
+			return files.map(path -> path.getFileName().toString()).filter(name -> name.endsWith(".png")).sorted().toList();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to list images: " + dir, e);
+		}
+	}
+
+	/*
+	 * Lance les tâches sur des threads virtuels et notifie la progression depuis le thread appelant.
+	 */
+	private static void runAll(List<Runnable> tasks, Progress progress) {
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			var completion = new ExecutorCompletionService<Void>(executor);
+			for (Runnable task : tasks) {
+				completion.submit(task, null);
 			}
-		});
+			for (int loaded = 1; loaded <= tasks.size(); loaded++) {
+				completion.take().get();
+				progress.update(loaded, tasks.size());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Image loading interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
 	}
 
 
@@ -79,6 +199,99 @@ public class ImageLoader {
 
 		return rotatedImage;
 	}
+
+
+
+	/**
+	 * Renders every image of a directory at the given size in all the rotations of an hexagonal tile,
+	 * one image by virtual thread. Called at startup so the first frames do not have to do it.
+	 *
+	 * @param dir      Directory of the images of the tiles.
+	 * @param size     The size of a tile in pixels.
+	 * @param progress Notified on the calling thread each time an image is ready.
+	 * @throws UncheckedIOException if the directory cannot be read.
+	 */
+	public void buildRotationAtlas(String dir, int size, Progress progress) {
+		Objects.requireNonNull(progress);
+		List<Runnable> tasks = new ArrayList<>();
+		for (String name : listImages(dir)) {
+			tasks.add(() -> getRotatedImage(dir, name, size, 0));
+		}
+		runAll(tasks, progress);
+	}
+
+	/**
+	 * Gets an image scaled to fit a square of the given size and rotated by a multiple of 60 degrees.
+	 * The image is centered in the returned image, which may be larger than the square.
+	 *
+	 * @param dir           Directory name where the file is located.
+	 * @param imageName     File name of the image.
+	 * @param size          The size of the square in pixels.
+	 * @param rotationIndex The rotation, in sixths of a turn clockwise.
+	 * @return The rotated image, from the atlas.
+	 */
+	public BufferedImage getRotatedImage(String dir, String imageName, int size, int rotationIndex) {
+		Objects.requireNonNull(dir);
+		Objects.requireNonNull(imageName);
+		if (size <= 0) {
+			throw new IllegalArgumentException("size must be positive");
+		}
+		String key = dir + "/" + imageName + "@" + size;
+		BufferedImage[] rotations = rotationAtlas.get(key);
+		if (rotations != null) {
+			metrics.recordCacheHit();
+		} else {
+			metrics.recordCacheMiss();
+			BufferedImage image = loadImage(dir, imageName);
+			rotations = new BufferedImage[ROTATIONS];
+			for (int i = 0; i < ROTATIONS; i++) {
+				rotations[i] = renderRotation(image, size, i * 60);
+			}
+			BufferedImage[] previous = rotationAtlas.putIfAbsent(key, rotations);
+			if (previous != null) {
+				rotations = previous;
+			}
+		}
+		return rotations[Math.floorMod(rotationIndex, ROTATIONS)];
+	}
+
+	/*
+	 * Même transformation que ViewUtils.drawImage, faite une seule fois dans une image compatible avec l'écran.
+	 */
+	private static BufferedImage renderRotation(BufferedImage image, int size, double angle) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		double scale = Math.min((double) size / width, (double) size / height);
+		double radians = Math.toRadians(angle);
+		double cos = Math.abs(Math.cos(radians));
+		double sin = Math.abs(Math.sin(radians));
+		int newWidth = (int) Math.ceil(scale * (width * cos + height * sin));
+		int newHeight = (int) Math.ceil(scale * (height * cos + width * sin));
+		newWidth += Math.floorMod(newWidth - size, 2); // même parité que la case pour rester centré au pixel près
+		newHeight += Math.floorMod(newHeight - size, 2);
+
+		BufferedImage rotatedImage = createCompatibleImage(newWidth, newHeight);
+		Graphics2D g2d = rotatedImage.createGraphics();
+		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		AffineTransform transform = new AffineTransform();
+		transform.translate(newWidth / 2.0, newHeight / 2.0);
+		transform.rotate(radians);
+		transform.scale(scale, scale);
+		transform.translate(-width / 2.0, -height / 2.0);
+		g2d.drawImage(image, transform, null);
+		g2d.dispose();
+		return rotatedImage;
+	}
+
+	private static BufferedImage createCompatibleImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+		GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.getDefaultScreenDevice().getDefaultConfiguration();
+		return configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
 }
 
 
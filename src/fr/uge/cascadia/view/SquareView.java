@@ -3,6 +3,7 @@ package fr.uge.cascadia.view;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.List;
@@ -13,7 +14,6 @@ import fr.uge.cascadia.Position;
 import fr.uge.cascadia.animal.Animal;
 import fr.uge.cascadia.animal.AnimalToken;
 import fr.uge.cascadia.board.Board;
-import fr.uge.cascadia.board.Shelf;
 import fr.uge.cascadia.tile.Tile;
 
 
@@ -58,6 +58,56 @@ public record SquareView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
 
 
 
+	@Override
+	public void drawCell(Graphics2D graphics, TileSnapshot tile, int col, int row, boolean valid) {
+		Objects.requireNonNull(graphics);
+		int x = xOrigin + col * tileSize;
+		int y = yOrigin + row * tileSize;
+		// mêmes étapes que drawBoard, case par case
+		graphics.setColor(Color.BLACK);
+		graphics.fill(new Rectangle2D.Float(x, y, tileSize, tileSize));
+		graphics.setColor(Color.WHITE);
+		graphics.draw(new Rectangle2D.Float(x, y, tileSize, tileSize));
+		if (valid) {
+			graphics.setColor(new Color(255, 0, 0, 50));
+			graphics.fill(new Rectangle2D.Float(x, y, tileSize, tileSize));
+		}
+		if (tile != null) {
+			drawTile(graphics, tile, x, y, tileSize, tileSize);
+		}
+	}
+
+
+
+	@Override
+	public void drawHover(Graphics2D graphics, int col, int row) {
+		Objects.requireNonNull(graphics);
+		int x = xOrigin + col * tileSize;
+		int y = yOrigin + row * tileSize;
+		graphics.setColor(new Color(255, 255, 255, 60));
+		graphics.fill(new Rectangle2D.Float(x, y, tileSize, tileSize));
+		graphics.setColor(Color.WHITE);
+		graphics.drawRect(x + 1, y + 1, tileSize - 2, tileSize - 2);
+	}
+
+
+
+	@Override
+	public void drawHint(Graphics2D graphics, int col, int row, int gain, int best) {
+		Objects.requireNonNull(graphics);
+		viewUtils.drawHint(graphics, new Rectangle(xOrigin + col * tileSize, yOrigin + row * tileSize, tileSize, tileSize), gain, best);
+	}
+
+
+
+	@Override
+	public Rectangle cellBounds(int col, int row) {
+		// le contour de la case déborde d'un pixel à droite et en bas
+		return new Rectangle(xOrigin + col * tileSize, yOrigin + row * tileSize, tileSize + 1, tileSize + 1);
+	}
+
+
+
 
 	/**
 	 * Draws the background of the game board
@@ -116,7 +166,7 @@ public record SquareView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
 		for (var tile : tiles.keySet()) {
 			int x = xOrigin + tiles.get(tile).x() * tileSize;
 			int y = yOrigin + tiles.get(tile).y() * tileSize;
-			drawTile(graphics, tile, x, y, tileSize, tileSize);
+			drawTile(graphics, TileSnapshot.of(tile), x, y, tileSize, tileSize);
 		}
 	}
 
@@ -127,21 +177,21 @@ public record SquareView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
     * Draws the shelf for the player, including tiles and tokens.
     *
     * @param graphics The Graphics2D object used for drawing.
-    * @param shelf The shelf containing tiles and tokens.
+    * @param tiles The tiles of the shelf.
+    * @param tokens The tokens of the shelf.
     */
 	@Override
-	public void drawShelf(Graphics2D graphics, Shelf shelf) {
+	public void drawShelf(Graphics2D graphics, List<TileSnapshot> tiles, List<AnimalToken> tokens) {
 		Objects.requireNonNull(graphics);
-		Objects.requireNonNull(shelf);
+		Objects.requireNonNull(tiles);
+		Objects.requireNonNull(tokens);
 		graphics.setColor(Color.WHITE);
-		var tiles = shelf.getTiles();
 		int j = 0;
 		for (var tile : tiles) {
 			graphics.draw(new Rectangle2D.Float(0, j+tileSize, tileSize, tileSize));
 			if (tile!=null) drawTile(graphics, tile, 0, j+tileSize, tileSize, tileSize);
 			j += tileSize;
 		}
-		var tokens = shelf.getTokens();
 		j = 0;
 		for (var token : tokens) {
 			if (token!=null) viewUtils.drawToken(graphics, token, tileSize , j+tileSize, tileSize, tileSize);
@@ -154,15 +204,16 @@ public record SquareView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
      * Draws a single tile on the board, including any associated animal tokens.
      *
      * @param graphics The Graphics2D object used for drawing.
-     * @param tile The tile to be drawn.
+     * @param snapshot The tile to be drawn, with its token.
      * @param x The x-coordinate of the tile.
      * @param y The y-coordinate of the tile.
      * @param dimX The width of the tile in pixels.
      * @param dimY The height of the tile in pixels.
      */
-	private void drawTile(Graphics2D graphics, Tile tile, float x, float y, float dimX, float dimY) {
-		Objects.requireNonNull(tile);
+	private void drawTile(Graphics2D graphics, TileSnapshot snapshot, float x, float y, float dimX, float dimY) {
+		Objects.requireNonNull(snapshot);
 		Objects.requireNonNull(graphics);
+		Tile tile = snapshot.tile();
 
 		BufferedImage tileImage = viewUtils.tileToImage(tile, false);
 		viewUtils.drawImage(graphics, tileImage, x, y, dimX, dimY, 0);
@@ -170,8 +221,8 @@ public record SquareView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
 		float centerX = x + dimX / 2;
 		float centerY = y + dimY / 2;
 
-		if (tile.hasAnimalToken()) {
-			viewUtils.drawToken(graphics, tile.getAssignedAnimalToken(), centerX - dimX / 4, centerY - dimY / 4, dimX / 2, dimY / 2);
+		if (snapshot.token() != null) {
+			viewUtils.drawToken(graphics, snapshot.token(), centerX - dimX / 4, centerY - dimY / 4, dimX / 2, dimY / 2);
 		} else {
 			List<Animal> compatibleAnimals = tile.getCompatibleAnimals();
 			if (compatibleAnimals.size() == 2) {
@@ -194,7 +245,14 @@ public record SquareView(int xOrigin, int yOrigin, int tileSize , ViewUtils view
 
 	@Override
 	public Position fromScreenToRealCoordinates(int x, int y, Board board) {
-		return new Position((x-xOrigin)/tileSize , (y-yOrigin)/tileSize) ; 
+		Objects.requireNonNull(board);
+		// floorDiv : un clic à gauche ou au-dessus du plateau ne tombe pas dans la première case
+		int col = Math.floorDiv(x - xOrigin, tileSize);
+		int row = Math.floorDiv(y - yOrigin, tileSize);
+		if (row < 0 || row >= board.getGrid().size() || col < 0 || col >= board.getGrid().get(0).size()) {
+			return null;
+		}
+		return new Position(col, row);
 	}
 
 
@@ -0,0 +1,40 @@
+package fr.uge.cascadia.view;
+
+import java.util.Objects;
+
+import fr.uge.cascadia.animal.AnimalToken;
+import fr.uge.cascadia.tile.HexagoTile;
+import fr.uge.cascadia.tile.Tile;
+
+/**
+ * What a tile shows at a given time : its token and its rotation are copied,
+ * so the tile can change on the game thread while the render thread draws the snapshot.
+ *
+ * @param tile     the tile, only its habitats and compatible animals are read, they never change.
+ * @param token    the token placed on the tile, or null.
+ * @param rotation the rotation index of an hexagonal tile, 0 for a square tile.
+ * @author massinissa
+ */
+public record TileSnapshot(Tile tile, AnimalToken token, int rotation) {
+
+	/**
+	 * Creates a snapshot.
+	 */
+	public TileSnapshot {
+		Objects.requireNonNull(tile);
+	}
+
+	/**
+	 * Copies the state of a tile.
+	 *
+	 * @param tile the tile, may be null.
+	 * @return the snapshot of the tile, or null if there is no tile.
+	 */
+	public static TileSnapshot of(Tile tile) {
+		if (tile == null) {
+			return null;
+		}
+		int rotation = tile instanceof HexagoTile hexagoTile ? hexagoTile.getRotationIndex() : 0;
+		return new TileSnapshot(tile, tile.hasAnimalToken() ? tile.getAssignedAnimalToken() : null, rotation);
+	}
+}
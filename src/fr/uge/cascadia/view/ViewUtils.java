@@ -1,8 +1,14 @@
 package fr.uge.cascadia.view;
 
+import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Shape;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import fr.uge.cascadia.animal.Animal;
@@ -20,6 +26,11 @@ public class ViewUtils {
 
 	private final ImageLoader imageLoader ; 
 
+	/**
+	 * The image of the board of each player, kept between frames.
+	 */
+	private final Map<Integer, BoardLayer> boardLayers = new HashMap<>();
+
 	/**
 	 * Constructs a `ViewUtils` instance.
 	 *
@@ -32,6 +43,18 @@ public class ViewUtils {
 
 
 
+	/**
+	 * Gets the layer keeping the image of the board of a player between frames.
+	 *
+	 * @param seat The index of the player.
+	 * @return The layer of this board, created on first use.
+	 */
+	public BoardLayer boardLayer(int seat) {
+		return boardLayers.computeIfAbsent(seat, key -> new BoardLayer());
+	}
+
+
+
 	/**
 	 * Converts an `AnimalToken` to its corresponding image.
 	 *
@@ -60,13 +83,36 @@ public class ViewUtils {
 	 */
 	public BufferedImage tileToImage(Tile tile, boolean isHexagonal) {
 		Objects.requireNonNull(tile);
-		String prefix = isHexagonal ? "hex" : "data";
+		return imageLoader.loadImage(isHexagonal ? "hex" : "data", tileImageName(tile));
+	}
+
+	private static String tileImageName(Tile tile) {
 		if (tile.getHabitats().size() == 1) {
-			return imageLoader.loadImage(prefix, tile.getHabitats().get(0).toString().toLowerCase() + ".png");
-		} else {
-			return imageLoader.loadImage(prefix, tile.getHabitats().get(0).toString().toLowerCase() + "_" +
-					tile.getHabitats().get(1).toString().toLowerCase() + ".png");
+			return tile.getHabitats().get(0).toString().toLowerCase() + ".png";
 		}
+		return tile.getHabitats().get(0).toString().toLowerCase() + "_" +
+				tile.getHabitats().get(1).toString().toLowerCase() + ".png";
+	}
+
+
+
+	/**
+	 * Draws an hexagonal tile from the atlas of rotated images of the {@link ImageLoader}.
+	 * It gives the same result as {@link #drawImage} with an angle of {@code rotationIndex * 60},
+	 * without transforming the image at each frame.
+	 *
+	 * @param graphics      The `Graphics2D` context to draw on.
+	 * @param tile          The tile to draw.
+	 * @param x             The x-coordinate of the tile's position.
+	 * @param y             The y-coordinate of the tile's position.
+	 * @param size          The size of the square containing the tile.
+	 * @param rotationIndex The rotation of the tile, in sixths of a turn.
+	 */
+	public void drawHexagonalTile(Graphics2D graphics, Tile tile, int x, int y, int size, int rotationIndex) {
+		Objects.requireNonNull(graphics);
+		Objects.requireNonNull(tile);
+		BufferedImage image = imageLoader.getRotatedImage("hex", tileImageName(tile), size, rotationIndex);
+		graphics.drawImage(image, x + (size - image.getWidth()) / 2, y + (size - image.getHeight()) / 2, null);
 	}
 
 
@@ -116,4 +162,30 @@ public class ViewUtils {
 
 		drawImage(graphics,  tokenToImage(token), x, y, dimX, dimY , 0);
 	}
+
+
+
+	/**
+	 * Colours a free cell by the gain of the selected tile, from red for the worst to green for the best,
+	 * and writes the gain in its middle.
+	 *
+	 * @param graphics The Graphics2D object used for drawing.
+	 * @param cell     The shape of the cell.
+	 * @param gain     The gain of score in this cell.
+	 * @param best     The best gain over all the free cells.
+	 */
+	public void drawHint(Graphics2D graphics, Shape cell, int gain, int best) {
+		Objects.requireNonNull(graphics);
+		Objects.requireNonNull(cell);
+		float heat = best <= 0 ? 0 : Math.clamp((float) gain / best, 0, 1);
+		Color color = Color.getHSBColor(heat / 3, 1, 1); // du rouge (0°) au vert (120°)
+		graphics.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 110));
+		graphics.fill(cell);
+		String text = (gain > 0 ? "+" : "") + gain;
+		graphics.setFont(new Font("Arial", Font.BOLD, 14));
+		Rectangle bounds = cell.getBounds();
+		int width = graphics.getFontMetrics().stringWidth(text);
+		graphics.setColor(Color.BLACK);
+		graphics.drawString(text, (int) bounds.getCenterX() - width / 2, (int) bounds.getCenterY() + 5);
+	}
 }